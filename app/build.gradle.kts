@@ -34,6 +34,10 @@ android {
         sourceCompatibility = JavaVersion.VERSION_11
         targetCompatibility = JavaVersion.VERSION_11
     }
+    testOptions {
+        // android.util.Log calls in the code under test do nothing in local unit tests
+        unitTests.isReturnDefaultValues = true
+    }
 }
 
 dependencies {
@@ -44,6 +48,9 @@ dependencies {
     androidTestImplementation(libs.espresso.core)
     //glide
     implementation("com.github.bumptech.glide:glide:4.15.1")
+    implementation("com.github.bumptech.glide:recyclerview-integration:4.15.1") {
+        isTransitive = false
+    }
 
     //Firebase
     implementation(platform("com.google.firebase:firebase-bom:32.7.4"))
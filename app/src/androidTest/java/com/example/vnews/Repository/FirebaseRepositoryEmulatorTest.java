@@ -0,0 +1,193 @@
+package com.example.vnews.Repository;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.example.vnews.Model.saved_articles;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.firestore.CollectionReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.QuerySnapshot;
+import com.google.firebase.firestore.WriteBatch;
+
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Saved articles against the local Firestore emulator, on throwaway users.
+ * Start it before running: firebase emulators:start --only firestore
+ * (10.0.2.2 is the host machine as seen from the Android emulator).
+ */
+@RunWith(AndroidJUnit4.class)
+public class FirebaseRepositoryEmulatorTest {
+
+    private static final String EMULATOR_HOST = "10.0.2.2";
+    private static final int EMULATOR_PORT = 8080;
+    private static final long TIMEOUT_SECONDS = 30;
+
+    private FirebaseRepository repository;
+    private String userId;
+
+    @BeforeClass
+    public static void useEmulator() {
+        FirebaseRepository.useFirestoreEmulator(EMULATOR_HOST, EMULATOR_PORT);
+    }
+
+    @Before
+    public void setUp() {
+        // Checks go to Firestore, not to an index kept from another test
+        FirebaseRepository.setSavedArticlesIndex(null);
+        repository = FirebaseRepository.getInstance();
+        userId = "test-" + UUID.randomUUID();
+    }
+
+    @Test
+    public void saveCheckAndUnsave() throws Exception {
+        assertFalse(isSaved("article-1"));
+
+        String savedId = await(callback -> repository.saveArticle(userId, "article-1", callback));
+        assertEquals("article-1", savedId);
+        assertTrue(isSaved("article-1"));
+        assertFalse(isSaved("article-2"));
+
+        // Saving twice keeps one document
+        savedId = await(callback -> repository.saveArticle(userId, "article-1", callback));
+        assertEquals("article-1", savedId);
+        assertEquals(1, savedDocuments().size());
+
+        Void unsaved = await(callback -> repository.unsaveArticle(userId, "article-1", callback));
+        assertNull(unsaved);
+        assertFalse(isSaved("article-1"));
+        assertTrue(savedDocuments().isEmpty());
+    }
+
+    @Test
+    public void migrationKeepsTheFirstSaveOfDuplicates() throws Exception {
+        WriteBatch batch = FirebaseRepository.db().batch();
+        batch.set(legacy().document(), new saved_articles(null, "article-1", userId, 300));
+        batch.set(legacy().document(), new saved_articles(null, "article-1", userId, 100));
+        batch.set(legacy().document(), new saved_articles(null, "article-1", userId, 200));
+        batch.set(legacy().document(), new saved_articles(null, "article-2", userId, 50));
+        Tasks.await(batch.commit(), TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+        Integer moved = await(callback -> repository.migrateSavedArticles(userId, callback));
+        assertEquals(2, moved.intValue());
+
+        List<DocumentSnapshot> saved = savedDocuments();
+        assertEquals(2, saved.size());
+        assertEquals(100L, savedAt("article-1"));
+        assertEquals(50L, savedAt("article-2"));
+        assertTrue(legacyDocuments().isEmpty());
+
+        // A second run finds nothing left to move
+        moved = await(callback -> repository.migrateSavedArticles(userId, callback));
+        assertEquals(0, moved.intValue());
+        assertTrue(isSaved("article-1"));
+    }
+
+    @Test
+    public void migrationOverOneBatch() throws Exception {
+        // 1100 copies then 1100 deletes, each phase split over three batches of at most 500 writes
+        int count = 1100;
+        List<Task<Void>> writes = new ArrayList<>();
+        WriteBatch batch = FirebaseRepository.db().batch();
+        for (int i = 0; i < count; i++) {
+            batch.set(legacy().document(), new saved_articles(null, "article-" + i, userId, i));
+            if ((i + 1) % 500 == 0 || i == count - 1) {
+                writes.add(batch.commit());
+                batch = FirebaseRepository.db().batch();
+            }
+        }
+        Tasks.await(Tasks.whenAll(writes), TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        assertEquals(count, legacyDocuments().size());
+
+        Integer moved = await(callback -> repository.migrateSavedArticles(userId, callback));
+        assertEquals(count, moved.intValue());
+
+        // Every article moved, including those of the last partial batch, and no old document is left
+        List<DocumentSnapshot> saved = savedDocuments();
+        assertEquals(count, saved.size());
+        Set<String> ids = new HashSet<>();
+        for (DocumentSnapshot document : saved) {
+            ids.add(document.getId());
+        }
+        for (int i = 0; i < count; i++) {
+            assertTrue("article-" + i + " was not moved", ids.contains("article-" + i));
+        }
+        assertEquals(0L, savedAt("article-0"));
+        assertEquals(count - 1L, savedAt("article-" + (count - 1)));
+        assertTrue(legacyDocuments().isEmpty());
+    }
+
+    private boolean isSaved(String articleId) throws Exception {
+        Boolean saved = await(callback -> repository.isArticleSaved(userId, articleId, callback));
+        return saved;
+    }
+
+    private CollectionReference legacy() {
+        return FirebaseRepository.db().collection("saved_articles");
+    }
+
+    private CollectionReference saved() {
+        return FirebaseRepository.db().collection("users").document(userId).collection("saved_articles");
+    }
+
+    private List<DocumentSnapshot> savedDocuments() throws Exception {
+        return Tasks.await(saved().get(), TIMEOUT_SECONDS, TimeUnit.SECONDS).getDocuments();
+    }
+
+    private List<DocumentSnapshot> legacyDocuments() throws Exception {
+        QuerySnapshot snapshot = Tasks.await(legacy().whereEqualTo("userId", userId).get(),
+                TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        return snapshot.getDocuments();
+    }
+
+    private long savedAt(String articleId) throws Exception {
+        DocumentSnapshot document = Tasks.await(saved().document(articleId).get(), TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        assertTrue(articleId + " was not moved", document.exists());
+        return document.toObject(saved_articles.class).getSavedAt();
+    }
+
+    private interface Call<T> {
+        void run(FirebaseRepository.FirestoreCallback<T> callback);
+    }
+
+    // Run a repository call and wait for its callback, the callback comes on the main thread
+    private static <T> T await(Call<T> call) throws Exception {
+        CountDownLatch latch = new CountDownLatch(1);
+        Object[] result = new Object[1];
+        Exception[] error = new Exception[1];
+        call.run(new FirebaseRepository.FirestoreCallback<T>() {
+            @Override
+            public void onCallback(T value) {
+                result[0] = value;
+                latch.countDown();
+            }
+
+            @Override
+            public void onError(Exception e) {
+                error[0] = e;
+                latch.countDown();
+            }
+        });
+        assertTrue("No callback in time", latch.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        if (error[0] != null) {
+            throw error[0];
+        }
+        @SuppressWarnings("unchecked")
+        T value = (T) result[0];
+        return value;
+    }
+}
@@ -0,0 +1,229 @@
+package com.example.vnews.Adapter;
+
+import android.content.Context;
+import android.graphics.Typeface;
+import android.text.Html;
+import android.text.SpannableStringBuilder;
+import android.text.Spanned;
+import android.text.method.LinkMovementMethod;
+import android.text.style.BulletSpan;
+import android.util.TypedValue;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.webkit.WebSettings;
+import android.webkit.WebView;
+import android.widget.ImageView;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.bumptech.glide.Glide;
+import com.example.vnews.Model.ArticleBlock;
+import com.example.vnews.R;
+import com.example.vnews.Utils.ImageUrlPolicy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Renders the blocks of an article natively: text blocks as spans in a TextView,
+ * images through Glide as their rows are bound. Only tables fall back to a WebView.
+ */
+public class ArticleBlockAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
+
+    private static final int TYPE_TEXT = 0;
+    private static final int TYPE_IMAGE = 1;
+    private static final int TYPE_TABLE = 2;
+
+    // Style of a table, matching the text blocks around it
+    private static final String TABLE_HTML_HEAD =
+            "<html><head>" +
+            "<meta name=\"viewport\" content=\"width=device-width, initial-scale=1.0\">" +
+            "<style>" +
+            "body { font-family: 'Roboto', Arial, sans-serif; color: #333; margin: 0; padding: 0 16px; }" +
+            "table { border-collapse: collapse; width: 100%; }" +
+            "td, th { border: 1px solid #ddd; padding: 6px; }" +
+            "</style></head><body>";
+    private static final String TABLE_HTML_TAIL = "</body></html>";
+
+    private final Context context;
+    private final List<ArticleBlock> blocks = new ArrayList<>();
+
+    // Images span the screen width, the CDN is asked for that size
+    private final int imageWidth;
+
+    // Text of each block converted to spans once, on first bind
+    private final List<CharSequence> renderedText = new ArrayList<>();
+
+    public ArticleBlockAdapter(Context context) {
+        this.context = context;
+        this.imageWidth = context.getResources().getDisplayMetrics().widthPixels;
+    }
+
+    // Replace the blocks shown, an article is always shown as a whole
+    public void setBlocks(List<ArticleBlock> newBlocks) {
+        blocks.clear();
+        blocks.addAll(newBlocks);
+        renderedText.clear();
+        for (int i = 0; i < newBlocks.size(); i++) {
+            renderedText.add(null);
+        }
+        notifyDataSetChanged();
+    }
+
+    @Override
+    public int getItemViewType(int position) {
+        switch (blocks.get(position).getType()) {
+            case IMAGE:
+                return TYPE_IMAGE;
+            case TABLE:
+                return TYPE_TABLE;
+            default:
+                return TYPE_TEXT;
+        }
+    }
+
+    @NonNull
+    @Override
+    public RecyclerView.ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        LayoutInflater inflater = LayoutInflater.from(parent.getContext());
+        if (viewType == TYPE_IMAGE) {
+            return new ImageViewHolder(inflater.inflate(R.layout.item_article_image, parent, false));
+        }
+        if (viewType == TYPE_TABLE) {
+            return new TableViewHolder(inflater.inflate(R.layout.item_article_table, parent, false));
+        }
+        return new TextViewHolder(inflater.inflate(R.layout.item_article_text, parent, false));
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull RecyclerView.ViewHolder holder, int position) {
+        ArticleBlock block = blocks.get(position);
+
+        if (holder instanceof ImageViewHolder) {
+            bindImage((ImageViewHolder) holder, block);
+        } else if (holder instanceof TableViewHolder) {
+            ((TableViewHolder) holder).blockTable.loadDataWithBaseURL(null,
+                    TABLE_HTML_HEAD + block.getText() + TABLE_HTML_TAIL, "text/html", "utf-8", null);
+        } else {
+            bindText((TextViewHolder) holder, block, position);
+        }
+    }
+
+    private void bindText(TextViewHolder holder, ArticleBlock block, int position) {
+        CharSequence text = renderedText.get(position);
+        if (text == null) {
+            text = render(block);
+            renderedText.set(position, text);
+        }
+
+        boolean heading = block.getType() == ArticleBlock.Type.HEADING;
+        holder.blockText.setTextSize(TypedValue.COMPLEX_UNIT_SP,
+                heading ? (block.getHeadingLevel() == 2 ? 20 : 18) : 16);
+        holder.blockText.setTypeface(null, heading ? Typeface.BOLD : Typeface.NORMAL);
+        holder.blockText.setText(text);
+    }
+
+    private void bindImage(ImageViewHolder holder, ArticleBlock block) {
+        // Loaded only when the row is about to be shown, sized to the row width by Glide
+        ImageUrlPolicy.load(context, block.getImageUrl(), imageWidth, R.drawable.placeholder_image)
+                .into(holder.blockImage);
+
+        String caption = block.getText();
+        holder.blockCaption.setVisibility(caption.isEmpty() ? View.GONE : View.VISIBLE);
+        holder.blockCaption.setText(caption);
+    }
+
+    @Override
+    public void onViewRecycled(@NonNull RecyclerView.ViewHolder holder) {
+        if (holder instanceof ImageViewHolder) {
+            Glide.with(context).clear(((ImageViewHolder) holder).blockImage);
+        }
+    }
+
+    @Override
+    public int getItemCount() {
+        return blocks.size();
+    }
+
+    /**
+     * Convert the inline HTML of a text block to spans
+     */
+    private CharSequence render(ArticleBlock block) {
+        switch (block.getType()) {
+            case HEADING:
+                return block.getText();
+            case LIST:
+                return renderList(block);
+            default:
+                return trim(Html.fromHtml(block.getText(), Html.FROM_HTML_MODE_COMPACT));
+        }
+    }
+
+    private CharSequence renderList(ArticleBlock block) {
+        SpannableStringBuilder builder = new SpannableStringBuilder();
+        int gap = context.getResources().getDimensionPixelSize(R.dimen.article_list_indent);
+        List<String> items = block.getItems();
+
+        for (int i = 0; i < items.size(); i++) {
+            if (i > 0) {
+                builder.append('\n');
+            }
+            int start = builder.length();
+            if (block.isOrderedList()) {
+                builder.append(String.valueOf(i + 1)).append(". ");
+            }
+            builder.append(trim(Html.fromHtml(items.get(i), Html.FROM_HTML_MODE_COMPACT)));
+            if (!block.isOrderedList()) {
+                builder.setSpan(new BulletSpan(gap), start, builder.length(), Spanned.SPAN_EXCLUSIVE_EXCLUSIVE);
+            }
+        }
+        return builder;
+    }
+
+    // Html.fromHtml ends blocks with newlines, the row padding already separates them
+    private static CharSequence trim(CharSequence text) {
+        int end = text.length();
+        while (end > 0 && Character.isWhitespace(text.charAt(end - 1))) {
+            end--;
+        }
+        return text.subSequence(0, end);
+    }
+
+    static class TextViewHolder extends RecyclerView.ViewHolder {
+        TextView blockText;
+
+        TextViewHolder(View itemView) {
+            super(itemView);
+            blockText = itemView.findViewById(R.id.blockText);
+            // Links inside paragraphs stay clickable
+            blockText.setMovementMethod(LinkMovementMethod.getInstance());
+        }
+    }
+
+    static class ImageViewHolder extends RecyclerView.ViewHolder {
+        ImageView blockImage;
+        TextView blockCaption;
+
+        ImageViewHolder(View itemView) {
+            super(itemView);
+            blockImage = itemView.findViewById(R.id.blockImage);
+            blockCaption = itemView.findViewById(R.id.blockCaption);
+        }
+    }
+
+    static class TableViewHolder extends RecyclerView.ViewHolder {
+        WebView blockTable;
+
+        TableViewHolder(View itemView) {
+            super(itemView);
+            blockTable = itemView.findViewById(R.id.blockTable);
+            WebSettings settings = blockTable.getSettings();
+            settings.setJavaScriptEnabled(false); // Tắt JavaScript vì lý do bảo mật
+            settings.setLoadWithOverviewMode(true);
+            settings.setUseWideViewPort(true);
+        }
+    }
+}
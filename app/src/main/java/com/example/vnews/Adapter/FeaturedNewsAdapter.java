@@ -0,0 +1,102 @@
+package com.example.vnews.Adapter;
+
+import android.content.Context;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.ImageView;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.cardview.widget.CardView;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.example.vnews.Model.RssNewsItem;
+import com.example.vnews.R;
+import com.example.vnews.Utils.ImageUrlPolicy;
+import com.example.vnews.View.NewsDetailActivity;
+
+/**
+ * Single-row adapter for the featured news card at the top of the home feed
+ */
+public class FeaturedNewsAdapter extends RecyclerView.Adapter<FeaturedNewsAdapter.FeaturedViewHolder> {
+
+    private final Context context;
+    private RssNewsItem featuredNews;
+
+    // Exact card size, the card spans the screen width minus its margins
+    private final int imageWidth;
+    private final int imageHeight;
+
+    public FeaturedNewsAdapter(Context context) {
+        this.context = context;
+        int margin = context.getResources().getDimensionPixelSize(R.dimen.featured_news_horizontal_margin);
+        this.imageWidth = context.getResources().getDisplayMetrics().widthPixels - 2 * margin;
+        this.imageHeight = context.getResources().getDimensionPixelSize(R.dimen.featured_news_height);
+        setHasStableIds(true);
+    }
+
+    // Show a news item in the featured card, or hide the card when null
+    public void setFeaturedNews(RssNewsItem news) {
+        RssNewsItem previous = featuredNews;
+        featuredNews = news;
+
+        if (previous == null && news != null) {
+            notifyItemInserted(0);
+        } else if (previous != null && news == null) {
+            notifyItemRemoved(0);
+        } else if (news != null && news != previous) {
+            notifyItemChanged(0);
+        }
+    }
+
+    @NonNull
+    @Override
+    public FeaturedViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        View view = LayoutInflater.from(parent.getContext()).inflate(R.layout.item_featured_news, parent, false);
+        return new FeaturedViewHolder(view);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull FeaturedViewHolder holder, int position) {
+        RssNewsItem news = featuredNews;
+
+        holder.featuredNewsTitle.setText(news.getTitle());
+        holder.featuredNewsDescription.setText(news.getCleanDescription());
+
+        // Load image, sized by the CDN for the card width
+        ImageUrlPolicy.load(context, news.getImageUrl(), imageWidth, R.drawable.placeholder_image)
+                .override(imageWidth, imageHeight)
+                .centerCrop()
+                .into(holder.featuredNewsImage);
+
+        // Set click listener for the featured news card
+        holder.featuredNewsCard.setOnClickListener(v ->
+                context.startActivity(NewsDetailActivity.newIntent(context, news)));
+    }
+
+    @Override
+    public int getItemCount() {
+        return featuredNews != null ? 1 : 0;
+    }
+
+    @Override
+    public long getItemId(int position) {
+        // One card whatever it shows, a new story rebinds it in place
+        return 0;
+    }
+
+    static class FeaturedViewHolder extends RecyclerView.ViewHolder {
+        TextView featuredNewsTitle, featuredNewsDescription;
+        ImageView featuredNewsImage;
+        CardView featuredNewsCard;
+
+        FeaturedViewHolder(View itemView) {
+            super(itemView);
+            featuredNewsTitle = itemView.findViewById(R.id.featuredNewsTitle);
+            featuredNewsDescription = itemView.findViewById(R.id.featuredNewsDescription);
+            featuredNewsImage = itemView.findViewById(R.id.featuredNewsImage);
+            featuredNewsCard = itemView.findViewById(R.id.featuredNewsCard);
+        }
+    }
+}
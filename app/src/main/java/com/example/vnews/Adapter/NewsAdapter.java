@@ -1,7 +1,7 @@
 package com.example.vnews.Adapter;
 
 import android.content.Context;
-import android.content.Intent;
+import android.graphics.drawable.Drawable;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
@@ -10,23 +10,53 @@ import android.widget.TextView;
 
 import androidx.annotation.NonNull;
 import androidx.cardview.widget.CardView;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.bumptech.glide.Glide;
+import com.bumptech.glide.RequestBuilder;
 import com.example.vnews.Model.RssNewsItem;
 import com.example.vnews.R;
+import com.example.vnews.Utils.ImageUrlPolicy;
 import com.example.vnews.View.NewsDetailActivity;
 
 import java.util.List;
+import java.util.Objects;
 
-public class NewsAdapter extends RecyclerView.Adapter<NewsAdapter.NewsViewHolder> {
+/**
+ * Feed list adapter. Updates are diffed on a background thread by article link,
+ * so a refresh only rebinds the rows that were inserted, moved or changed.
+ */
+public class NewsAdapter extends ListAdapter<RssNewsItem, NewsAdapter.NewsViewHolder> {
+
+    private static final DiffUtil.ItemCallback<RssNewsItem> DIFF_CALLBACK = new DiffUtil.ItemCallback<RssNewsItem>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull RssNewsItem oldItem, @NonNull RssNewsItem newItem) {
+            return oldItem.getId() == newItem.getId();
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull RssNewsItem oldItem, @NonNull RssNewsItem newItem) {
+            return Objects.equals(oldItem.getTitle(), newItem.getTitle())
+                    && Objects.equals(oldItem.getCleanDescription(), newItem.getCleanDescription())
+                    && Objects.equals(oldItem.getPubDate(), newItem.getPubDate())
+                    && Objects.equals(oldItem.getImageUrl(), newItem.getImageUrl());
+        }
+    };
 
-    private final List<RssNewsItem> newsList;
     private final Context context;
 
-    public NewsAdapter(Context context, List<RssNewsItem> newsList) {
+    // Exact thumbnail size, so Glide decodes at view size and preloads match bind requests
+    private final int thumbnailWidth;
+    private final int thumbnailHeight;
+
+    public NewsAdapter(Context context) {
+        super(DIFF_CALLBACK);
         this.context = context;
-        this.newsList = newsList;
+        this.thumbnailWidth = context.getResources().getDimensionPixelSize(R.dimen.news_thumbnail_width);
+        this.thumbnailHeight = context.getResources().getDimensionPixelSize(R.dimen.news_thumbnail_height);
+        setHasStableIds(true);
     }
 
     @NonNull
@@ -38,45 +68,59 @@ public class NewsAdapter extends RecyclerView.Adapter<NewsAdapter.NewsViewHolder
 
     @Override
     public void onBindViewHolder(@NonNull NewsViewHolder holder, int position) {
-        RssNewsItem news = newsList.get(position);
+        RssNewsItem news = getItem(position);
         
         holder.newsTitle.setText(news.getTitle());
         holder.newsDescription.setText(news.getCleanDescription());
         holder.newsDate.setText(news.getPubDate());
         
         // Load image using Glide
-        if (news.getImageUrl() != null && !news.getImageUrl().isEmpty()) {
-            Glide.with(context)
-                    .load(news.getImageUrl())
-                    .placeholder(R.drawable.placeholder_image)
-                    .error(R.drawable.placeholder_image)
+        if (!news.getImageUrl().isEmpty()) {
+            buildThumbnailRequest(news)
                     .into(holder.newsImage);
         } else {
+            // Cancel any load still pending for the previous item of this recycled row
+            Glide.with(context).clear(holder.newsImage);
             holder.newsImage.setImageResource(R.drawable.placeholder_image);
         }
         
         // Set click listener
-        holder.cardView.setOnClickListener(v -> {
-            Intent intent = new Intent(context, NewsDetailActivity.class);
-            intent.putExtra("article_title", news.getTitle());
-            intent.putExtra("article_url", news.getLink());
-            intent.putExtra("article_image", news.getImageUrl());
-            intent.putExtra("article_description", news.getDescription());
-            intent.putExtra("article_pubDate", news.getPubDate());
-            context.startActivity(intent);
-        });
+        holder.cardView.setOnClickListener(v ->
+                context.startActivity(NewsDetailActivity.newIntent(context, news)));
     }
 
     @Override
-    public int getItemCount() {
-        return newsList.size();
+    public long getItemId(int position) {
+        return getItem(position).getId();
+    }
+
+    // Item at a position of this adapter
+    public RssNewsItem getNewsItem(int position) {
+        return getItem(position);
+    }
+
+    /**
+     * Thumbnail request used both when binding and when preloading a row.
+     * Both must stay identical so the preloaded image is a cache hit.
+     * The CDN is asked for an image close to the thumbnail width.
+     */
+    public RequestBuilder<Drawable> buildThumbnailRequest(RssNewsItem news) {
+        return ImageUrlPolicy.load(context, news.getImageUrl(), thumbnailWidth, R.drawable.placeholder_image)
+                .override(thumbnailWidth, thumbnailHeight)
+                .centerCrop();
+    }
+
+    public int getThumbnailWidth() {
+        return thumbnailWidth;
+    }
+
+    public int getThumbnailHeight() {
+        return thumbnailHeight;
     }
 
-    // Add items to adapter
+    // Replace the displayed items, the list must not be modified afterwards
     public void updateNewsList(List<RssNewsItem> newsList) {
-        this.newsList.clear();
-        this.newsList.addAll(newsList);
-        notifyDataSetChanged();
+        submitList(newsList);
     }
 
     static class NewsViewHolder extends RecyclerView.ViewHolder {
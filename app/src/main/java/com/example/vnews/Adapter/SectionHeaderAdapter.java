@@ -0,0 +1,58 @@
+package com.example.vnews.Adapter;
+
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.StringRes;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.example.vnews.R;
+
+/**
+ * Single-row adapter showing a section title inside a list
+ */
+public class SectionHeaderAdapter extends RecyclerView.Adapter<SectionHeaderAdapter.HeaderViewHolder> {
+
+    @StringRes
+    private final int titleRes;
+
+    public SectionHeaderAdapter(@StringRes int titleRes) {
+        this.titleRes = titleRes;
+        setHasStableIds(true);
+    }
+
+    @NonNull
+    @Override
+    public HeaderViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        View view = LayoutInflater.from(parent.getContext()).inflate(R.layout.item_section_header, parent, false);
+        return new HeaderViewHolder(view);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull HeaderViewHolder holder, int position) {
+        holder.sectionTitle.setText(titleRes);
+    }
+
+    @Override
+    public int getItemCount() {
+        return 1;
+    }
+
+    @Override
+    public long getItemId(int position) {
+        // The only row, ids of other adapters in a ConcatAdapter are kept apart
+        return 0;
+    }
+
+    static class HeaderViewHolder extends RecyclerView.ViewHolder {
+        TextView sectionTitle;
+
+        HeaderViewHolder(View itemView) {
+            super(itemView);
+            sectionTitle = itemView.findViewById(R.id.sectionTitle);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.vnews.Adapter;
+
+import android.view.View;
+import android.view.ViewGroup;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+
+/**
+ * Single-row adapter showing an already inflated view inside a list, e.g. a screen header.
+ * The view keeps its own state, so it is never rebound. Its holder is never recycled:
+ * when the row leaves the screen the view is detached, and wrapped again when it comes back.
+ */
+public class SingleViewAdapter extends RecyclerView.Adapter<SingleViewAdapter.ViewHolder> {
+
+    private final View view;
+
+    public SingleViewAdapter(View view) {
+        this.view = view;
+    }
+
+    @NonNull
+    @Override
+    public ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        if (view.getParent() != null) {
+            throw new IllegalStateException("The view is already attached, a SingleViewAdapter can only be shown in one list");
+        }
+        ViewHolder holder = new ViewHolder(view);
+        // A pooled holder could be handed to another list position while the view is still shown
+        holder.setIsRecyclable(false);
+        return holder;
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
+        // Nothing to bind, the owner updates the view directly
+    }
+
+    @Override
+    public int getItemCount() {
+        return 1;
+    }
+
+    static class ViewHolder extends RecyclerView.ViewHolder {
+        ViewHolder(View itemView) {
+            super(itemView);
+        }
+    }
+}
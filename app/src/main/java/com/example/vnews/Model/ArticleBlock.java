@@ -0,0 +1,134 @@
+package com.example.vnews.Model;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One block of an article body, rendered natively by ArticleBlockAdapter.
+ * Immutable, created by ArticleScraper and stored in ArticleCache.
+ */
+public class ArticleBlock {
+
+    public enum Type {
+        PARAGRAPH,
+        HEADING,
+        IMAGE,
+        LIST,
+        TABLE
+    }
+
+    private final Type type;
+
+    // Inline HTML of a paragraph, text of a heading, caption of an image or outer HTML of a table
+    private final String text;
+
+    // Image URL, empty for other blocks
+    private final String imageUrl;
+
+    // Inline HTML of each list item, empty for other blocks
+    private final List<String> items;
+
+    // Heading level (2 or 3), or 1 for an ordered list
+    private final int level;
+
+    private ArticleBlock(Type type, String text, String imageUrl, List<String> items, int level) {
+        this.type = type;
+        this.text = text != null ? text : "";
+        this.imageUrl = imageUrl != null ? imageUrl : "";
+        this.items = Collections.unmodifiableList(items);
+        this.level = level;
+    }
+
+    public static ArticleBlock paragraph(String html) {
+        return new ArticleBlock(Type.PARAGRAPH, html, null, Collections.emptyList(), 0);
+    }
+
+    public static ArticleBlock heading(String text, int level) {
+        return new ArticleBlock(Type.HEADING, text, null, Collections.emptyList(), level);
+    }
+
+    public static ArticleBlock image(String imageUrl, String caption) {
+        return new ArticleBlock(Type.IMAGE, caption, imageUrl, Collections.emptyList(), 0);
+    }
+
+    public static ArticleBlock list(List<String> items, boolean ordered) {
+        return new ArticleBlock(Type.LIST, null, null, new ArrayList<>(items), ordered ? 1 : 0);
+    }
+
+    public static ArticleBlock table(String outerHtml) {
+        return new ArticleBlock(Type.TABLE, outerHtml, null, Collections.emptyList(), 0);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public String getImageUrl() {
+        return imageUrl;
+    }
+
+    public List<String> getItems() {
+        return items;
+    }
+
+    public int getHeadingLevel() {
+        return level;
+    }
+
+    public boolean isOrderedList() {
+        return type == Type.LIST && level == 1;
+    }
+
+    /**
+     * Write the block in the compact binary form read back by readFrom
+     */
+    public void writeTo(DataOutputStream out) throws IOException {
+        out.writeByte(type.ordinal());
+        out.writeByte(level);
+        writeString(out, text);
+        writeString(out, imageUrl);
+        out.writeInt(items.size());
+        for (String item : items) {
+            writeString(out, item);
+        }
+    }
+
+    public static ArticleBlock readFrom(DataInputStream in) throws IOException {
+        int typeIndex = in.readUnsignedByte();
+        if (typeIndex >= Type.values().length) {
+            throw new IOException("Unknown block type " + typeIndex);
+        }
+        Type type = Type.values()[typeIndex];
+        int level = in.readUnsignedByte();
+        String text = readString(in);
+        String imageUrl = readString(in);
+        int itemCount = in.readInt();
+        List<String> items = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            items.add(readString(in));
+        }
+        return new ArticleBlock(type, text, imageUrl, items, level);
+    }
+
+    // writeUTF is limited to 64 KB, tables can be larger
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
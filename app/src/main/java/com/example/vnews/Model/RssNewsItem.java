@@ -1,67 +1,134 @@
 package com.example.vnews.Model;
 
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable feed item. Everything the list needs to bind a row (plain-text description,
+ * publish time, absolute image URL and a stable id) is computed once when the item is built.
+ */
 public class RssNewsItem {
-    private String title;
-    private String description;
-    private String pubDate;
-    private String link;
-    private String imageUrl;
 
-    public RssNewsItem() {
-    }
+    // HTML tags inside the description
+    private static final Pattern HTML_TAG_PATTERN = Pattern.compile("<.*?>");
+
+    // FNV-1a 64-bit constants used for the stable id
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final String title;
+    private final String description;
+    private final String pubDate;
+    private final String link;
+    private final String imageUrl;
+
+    // Derived fields
+    private final String cleanDescription;
+    private final long publishedAt;
+    private final long id;
 
     public RssNewsItem(String title, String description, String pubDate, String link, String imageUrl) {
+        this.title = title != null ? title : "";
+        this.description = description != null ? description : "";
+        this.pubDate = pubDate != null ? pubDate : "";
+        this.link = link != null ? link : "";
+        this.imageUrl = toAbsoluteUrl(imageUrl);
+        this.cleanDescription = HTML_TAG_PATTERN.matcher(this.description).replaceAll("").trim();
+        this.publishedAt = parsePubDate(this.pubDate);
+        this.id = idOf(this.link, this.title, this.pubDate);
+    }
+
+    private RssNewsItem(String title, String cleanDescription, String pubDate, String link, String imageUrl,
+                        long publishedAt) {
         this.title = title;
-        this.description = description;
+        this.description = cleanDescription;
         this.pubDate = pubDate;
         this.link = link;
         this.imageUrl = imageUrl;
+        this.cleanDescription = cleanDescription;
+        this.publishedAt = publishedAt;
+        this.id = idOf(link, title, pubDate);
     }
 
-    public String getTitle() {
-        return title;
+    /**
+     * Rebuild an item from the fields of a feed snapshot without parsing anything again.
+     * The description of such an item is its plain-text description.
+     */
+    public static RssNewsItem fromSnapshot(String title, String cleanDescription, String pubDate, String link,
+                                           String imageUrl, long publishedAt) {
+        return new RssNewsItem(title, cleanDescription, pubDate, link, imageUrl, publishedAt);
     }
 
-    public void setTitle(String title) {
-        this.title = title;
+    public String getTitle() {
+        return title;
     }
 
     public String getDescription() {
         return description;
     }
 
-    public void setDescription(String description) {
-        this.description = description;
-    }
-
     public String getPubDate() {
         return pubDate;
     }
 
-    public void setPubDate(String pubDate) {
-        this.pubDate = pubDate;
-    }
-
     public String getLink() {
         return link;
     }
 
-    public void setLink(String link) {
-        this.link = link;
-    }
-
     public String getImageUrl() {
         return imageUrl;
     }
 
-    public void setImageUrl(String imageUrl) {
-        this.imageUrl = imageUrl;
+    // Description without HTML tags
+    public String getCleanDescription() {
+        return cleanDescription;
     }
 
-    // Extract clean description (remove HTML tags)
-    public String getCleanDescription() {
-        if (description == null) return "";
-        // Remove any HTML tags and extract only text
-        return description.replaceAll("\\<.*?\\>", "").trim();
+    // Publish time in epoch millis, 0 if the date could not be parsed
+    public long getPublishedAt() {
+        return publishedAt;
+    }
+
+    // Stable 64-bit id derived from the article link, or from the title and date without one
+    public long getId() {
+        return id;
+    }
+
+    private static String toAbsoluteUrl(String url) {
+        if (url == null) return "";
+        url = url.trim();
+        if (url.startsWith("//")) {
+            return "https:" + url;
+        }
+        return url;
+    }
+
+    // RSS dates use the RFC-822 format: EEE, dd MMM yyyy HH:mm:ss Z
+    private static long parsePubDate(String pubDate) {
+        if (pubDate.isEmpty()) return 0;
+        try {
+            return ZonedDateTime.parse(pubDate, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+        } catch (DateTimeParseException e) {
+            return 0;
+        }
+    }
+
+    // Items without a link would otherwise all share the id of the empty string
+    private static long idOf(String link, String title, String pubDate) {
+        if (!link.isEmpty()) {
+            return hash(FNV_OFFSET_BASIS, link);
+        }
+        // The separator keeps "ab" + "c" apart from "a" + "bc"
+        return hash(hash(hash(FNV_OFFSET_BASIS, title), "\n"), pubDate);
+    }
+
+    private static long hash(long hash, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= FNV_PRIME;
+        }
+        return hash;
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,149 @@
+package com.example.vnews.Repository;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.example.vnews.Model.articles;
+import com.google.firebase.firestore.DocumentSnapshot;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Infinite-scroll data source for Firestore article lists.
+ * Pages are read with a startAfter cursor, so the first screen costs one small query
+ * whatever the size of the collection, and the next page is only read when the user
+ * scrolls close to the end of what is loaded.
+ * Used from the main thread, where Firestore delivers its results.
+ */
+public class ArticlePager {
+
+    private static final int DEFAULT_PAGE_SIZE = 20;
+
+    // Rows left below the last visible one when the next page is requested
+    private static final int PREFETCH_DISTANCE = 5;
+
+    /**
+     * Receives the list each time a page arrives
+     */
+    public interface Listener {
+        /**
+         * @param items Every article loaded so far, in order
+         * @param hasMore Whether more pages remain
+         */
+        void onArticlesLoaded(List<articles> items, boolean hasMore);
+
+        void onError(Exception e);
+    }
+
+    private final FirebaseRepository repository;
+    private final String categoryId;
+    private final int pageSize;
+    private final Listener listener;
+
+    private final List<articles> loaded = new ArrayList<>();
+    private DocumentSnapshot cursor;
+    private boolean hasMore = true;
+    private boolean loading;
+
+    // Bumped by refresh, a page requested before it is dropped
+    private int generation;
+
+    /**
+     * @param categoryId Category to page through, or null for all articles
+     */
+    public ArticlePager(FirebaseRepository repository, String categoryId, Listener listener) {
+        this(repository, categoryId, DEFAULT_PAGE_SIZE, listener);
+    }
+
+    public ArticlePager(FirebaseRepository repository, String categoryId, int pageSize, Listener listener) {
+        this.repository = repository;
+        this.categoryId = categoryId;
+        this.pageSize = pageSize;
+        this.listener = listener;
+    }
+
+    /**
+     * Read the next page, ignored while a page is loading or after the last one
+     */
+    public void loadNextPage() {
+        if (loading || !hasMore) {
+            return;
+        }
+        loading = true;
+        int requestGeneration = generation;
+
+        FirebaseRepository.FirestoreCallback<FirebaseRepository.Page<articles>> callback =
+                new FirebaseRepository.FirestoreCallback<FirebaseRepository.Page<articles>>() {
+                    @Override
+                    public void onCallback(FirebaseRepository.Page<articles> page) {
+                        if (requestGeneration != generation) {
+                            return;
+                        }
+                        loading = false;
+                        loaded.addAll(page.getItems());
+                        cursor = page.getLast();
+                        hasMore = page.hasMore();
+                        listener.onArticlesLoaded(Collections.unmodifiableList(new ArrayList<>(loaded)), hasMore);
+                    }
+
+                    @Override
+                    public void onError(Exception e) {
+                        if (requestGeneration != generation) {
+                            return;
+                        }
+                        // The same page is retried by the next scroll or refresh
+                        loading = false;
+                        listener.onError(e);
+                    }
+                };
+
+        if (categoryId != null) {
+            repository.getArticlesByCategoryPage(categoryId, pageSize, cursor, callback);
+        } else {
+            repository.getArticlesPage(pageSize, cursor, callback);
+        }
+    }
+
+    /**
+     * Drop what is loaded and read the first page again, e.g. on pull to refresh
+     */
+    public void refresh() {
+        generation++;
+        loaded.clear();
+        cursor = null;
+        hasMore = true;
+        loading = false;
+        loadNextPage();
+    }
+
+    public boolean isLoading() {
+        return loading;
+    }
+
+    /**
+     * Read the next page whenever a list scrolls near its last loaded row
+     *
+     * @param recyclerView A list with a LinearLayoutManager showing this pager's articles
+     */
+    public void attach(RecyclerView recyclerView) {
+        recyclerView.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+                if (dy <= 0) {
+                    return;
+                }
+                LinearLayoutManager layoutManager = (LinearLayoutManager) recyclerView.getLayoutManager();
+                if (layoutManager == null) {
+                    return;
+                }
+                int lastVisible = layoutManager.findLastVisibleItemPosition();
+                if (lastVisible >= layoutManager.getItemCount() - 1 - PREFETCH_DISTANCE) {
+                    loadNextPage();
+                }
+            }
+        });
+    }
+}
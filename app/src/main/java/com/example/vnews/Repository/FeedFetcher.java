@@ -0,0 +1,226 @@
+package com.example.vnews.Repository;
+
+import android.util.Log;
+
+import com.example.vnews.Model.RssNewsItem;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Downloads RSS feeds with HTTP conditional revalidation.
+ * The ETag / Last-Modified validators and the last parsed list are kept per feed URL,
+ * so a 304 Not Modified answer returns the previous items without re-parsing.
+ */
+public class FeedFetcher {
+
+    private static final String TAG = "FeedFetcher";
+    private static final int TIMEOUT_MS = 10000;
+
+    // Singleton instance
+    private static volatile FeedFetcher instance;
+
+    // Last successful response per feed URL
+    private final Map<String, CachedFeed> cache = new ConcurrentHashMap<>();
+
+    // Request currently downloading each feed URL
+    private final Map<String, CompletableFuture<List<RssNewsItem>>> inFlightRequests = new ConcurrentHashMap<>();
+
+    private final Parser parser;
+
+    /**
+     * Reads the items of a 200 response body
+     */
+    interface Parser {
+        List<RssNewsItem> parse(InputStream in) throws IOException;
+    }
+
+    public FeedFetcher() {
+        this(in -> RssFeedParser.parse(in, null));
+    }
+
+    // Package-private for tests, which run without the platform XML parser
+    FeedFetcher(Parser parser) {
+        this.parser = parser;
+    }
+
+    // Get singleton instance
+    public static FeedFetcher getInstance() {
+        if (instance == null) {
+            synchronized (FeedFetcher.class) {
+                if (instance == null) {
+                    instance = new FeedFetcher();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Fetch a feed, revalidating against the previous response when there is one.
+     * Concurrent calls for the same URL share a single request: only the first caller
+     * downloads, the others wait for its result.
+     *
+     * @param url Feed URL
+     * @return The parsed items, possibly the cached list when the server answered 304
+     */
+    public List<RssNewsItem> fetch(String url) throws IOException {
+        CompletableFuture<List<RssNewsItem>> request = new CompletableFuture<>();
+        CompletableFuture<List<RssNewsItem>> inFlight = inFlightRequests.putIfAbsent(url, request);
+        if (inFlight != null) {
+            Log.d(TAG, "Joining in-flight request: " + url);
+            return await(inFlight);
+        }
+
+        try {
+            List<RssNewsItem> items = download(url);
+            request.complete(items);
+            return items;
+        } catch (IOException | RuntimeException e) {
+            request.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightRequests.remove(url, request);
+        }
+    }
+
+    private static List<RssNewsItem> await(CompletableFuture<List<RssNewsItem>> request) throws IOException {
+        try {
+            return request.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw new IOException("Error fetching feed", cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for feed");
+        }
+    }
+
+    private List<RssNewsItem> download(String url) throws IOException {
+        CachedFeed cached = cache.get(url);
+
+        HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+        connection.setConnectTimeout(TIMEOUT_MS);
+        connection.setReadTimeout(TIMEOUT_MS);
+        connection.setUseCaches(false);
+
+        if (cached != null) {
+            // Only validators the server sent last time are replayed
+            if (cached.etag != null) {
+                connection.setRequestProperty("If-None-Match", cached.etag);
+            }
+            if (cached.lastModified != null) {
+                connection.setRequestProperty("If-Modified-Since", cached.lastModified);
+            }
+        }
+
+        try {
+            int responseCode = connection.getResponseCode();
+            if (responseCode == HttpURLConnection.HTTP_NOT_MODIFIED && cached != null) {
+                Log.d(TAG, "Feed not modified: " + url);
+                cache.put(url, new CachedFeed(cached.etag, cached.lastModified, cached.items,
+                        System.currentTimeMillis()));
+                return cached.items;
+            }
+            if (responseCode != HttpURLConnection.HTTP_OK) {
+                throw new IOException("Unexpected HTTP response " + responseCode + " for " + url);
+            }
+
+            // Parse items straight from the response stream
+            List<RssNewsItem> items;
+            try (InputStream in = new BufferedInputStream(connection.getInputStream())) {
+                items = Collections.unmodifiableList(parser.parse(in));
+            }
+
+            String etag = connection.getHeaderField("ETag");
+            String lastModified = connection.getHeaderField("Last-Modified");
+            cache.put(url, new CachedFeed(etag, lastModified, items, System.currentTimeMillis()));
+            return items;
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    /**
+     * Get the items of the last successful fetch without touching the network
+     *
+     * @param url Feed URL
+     * @return The cached items, or null if the feed has not been fetched yet
+     */
+    public List<RssNewsItem> getCachedItems(String url) {
+        CachedFeed cached = cache.get(url);
+        return cached != null ? cached.getItems() : null;
+    }
+
+    /**
+     * Get the validators and items of the last successful fetch
+     *
+     * @param url Feed URL
+     * @return The cached feed, or null if the feed has not been fetched yet
+     */
+    public CachedFeed getCachedFeed(String url) {
+        return cache.get(url);
+    }
+
+    /**
+     * Seed the cache with a feed restored from disk, so the next fetch can be revalidated.
+     * A feed already in memory is never replaced, since it is at least as recent.
+     */
+    public void restore(String url, CachedFeed feed) {
+        cache.putIfAbsent(url, feed);
+    }
+
+    /**
+     * Forget the validators and items of every feed
+     */
+    public void clear() {
+        cache.clear();
+    }
+
+    /**
+     * Validators and parsed items of the last successful response for a feed
+     */
+    public static class CachedFeed {
+        private final String etag;
+        private final String lastModified;
+        private final List<RssNewsItem> items;
+        private final long fetchedAt;
+
+        public CachedFeed(String etag, String lastModified, List<RssNewsItem> items, long fetchedAt) {
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.items = items;
+            this.fetchedAt = fetchedAt;
+        }
+
+        public String getEtag() {
+            return etag;
+        }
+
+        public String getLastModified() {
+            return lastModified;
+        }
+
+        public List<RssNewsItem> getItems() {
+            return items;
+        }
+
+        // Time of the last 200 or 304 answer, in epoch millis
+        public long getFetchedAt() {
+            return fetchedAt;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.vnews.Repository;
+
+import android.content.Context;
+import android.util.Log;
+
+import com.example.vnews.Utils.IoScheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Brings several feeds up to date through RssService, so they are stored in FeedStore
+ * and the FeedFetcher memory cache, and switching to one of them later is served without
+ * waiting on the network. Feeds still within their freshness TTL are not downloaded.
+ * Each feed is its own background job, so screens waiting on IoScheduler go first.
+ */
+public class FeedPrefetcher {
+
+    private static final String TAG = "FeedPrefetcher";
+
+    // Singleton instance
+    private static volatile FeedPrefetcher instance;
+
+    private final RssService rssService;
+
+    private final List<Future<?>> workers = new ArrayList<>();
+
+    // Cancellation flag of the current batch
+    private AtomicBoolean batchCancelled;
+
+    private FeedPrefetcher(Context context) {
+        rssService = new RssService(context.getApplicationContext());
+    }
+
+    // Get singleton instance
+    public static FeedPrefetcher getInstance(Context context) {
+        if (instance == null) {
+            synchronized (FeedPrefetcher.class) {
+                if (instance == null) {
+                    instance = new FeedPrefetcher(context);
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Prefetch every feed that is missing or stale, replacing any prefetch in progress
+     *
+     * @param urls Feed URLs in the order they should be fetched
+     */
+    public synchronized void prefetch(List<String> urls) {
+        cancel();
+
+        // The background lane caps how many feeds download at the same time
+        AtomicBoolean cancelled = new AtomicBoolean(false);
+        batchCancelled = cancelled;
+        for (String url : urls) {
+            workers.add(IoScheduler.getInstance().submit(
+                    IoScheduler.Lane.BACKGROUND_PREFETCH, () -> prefetchFeed(url, cancelled)));
+        }
+    }
+
+    /**
+     * Stop the prefetch in progress, e.g. when the app goes to the background.
+     * Downloads already running finish, since a screen may be waiting on the same feed.
+     */
+    public synchronized void cancel() {
+        if (batchCancelled != null) {
+            batchCancelled.set(true);
+            batchCancelled = null;
+        }
+        for (Future<?> worker : workers) {
+            worker.cancel(false);
+        }
+        workers.clear();
+    }
+
+    private void prefetchFeed(String url, AtomicBoolean cancelled) {
+        if (cancelled.get()) {
+            return;
+        }
+        // Fresh feeds, e.g. loaded by a screen while this job was queued, are not downloaded again
+        try {
+            rssService.refreshStored(url);
+            Log.d(TAG, "Prefetched feed: " + url);
+        } catch (Exception e) {
+            Log.w(TAG, "Error prefetching feed: " + url, e);
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.example.vnews.Repository;
+
+import android.content.Context;
+import android.util.Log;
+
+import com.example.vnews.Model.RssNewsItem;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Compact binary snapshot of the last home feed shown, read through a memory-mapped buffer
+ * at startup so the first frame shows real items before Firebase or the network are ready.
+ * Only what a row displays is stored: title, plain-text description, date, link, image URL
+ * and publish time.
+ *
+ * Layout: magic, version, feed URL, item count, then the fields of each item.
+ * Strings are a UTF-8 byte count followed by the bytes.
+ */
+public class FeedSnapshot {
+
+    private static final String TAG = "FeedSnapshot";
+    private static final String FILE_NAME = "home_feed.snapshot";
+
+    // "VNFS", guards against reading a foreign or truncated file
+    private static final int MAGIC = 0x564E4653;
+    private static final int VERSION = 1;
+
+    // Rows worth showing before the network answers
+    private static final int MAX_ITEMS = 30;
+
+    // Singleton instance
+    private static volatile FeedSnapshot instance;
+
+    private final File file;
+
+    // Last list written, a feed served again from memory is not rewritten
+    private volatile List<RssNewsItem> lastWritten;
+
+    private FeedSnapshot(Context context) {
+        file = new File(context.getApplicationContext().getFilesDir(), FILE_NAME);
+    }
+
+    // Get singleton instance
+    public static FeedSnapshot getInstance(Context context) {
+        if (instance == null) {
+            synchronized (FeedSnapshot.class) {
+                if (instance == null) {
+                    instance = new FeedSnapshot(context);
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Read the snapshot of a feed. Small enough to be read on the main thread during startup.
+     *
+     * @param feedUrl Feed the screen is about to show
+     * @return The items, or an empty list if there is no snapshot of that feed
+     */
+    public synchronized List<RssNewsItem> read(String feedUrl) {
+        if (!file.exists()) {
+            return Collections.emptyList();
+        }
+
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r");
+             FileChannel channel = raf.getChannel()) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION || !feedUrl.equals(readString(buffer))) {
+                return Collections.emptyList();
+            }
+
+            int count = buffer.getInt();
+            List<RssNewsItem> items = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                String title = readString(buffer);
+                String cleanDescription = readString(buffer);
+                String pubDate = readString(buffer);
+                String link = readString(buffer);
+                String imageUrl = readString(buffer);
+                long publishedAt = buffer.getLong();
+                items.add(RssNewsItem.fromSnapshot(title, cleanDescription, pubDate, link, imageUrl, publishedAt));
+            }
+            return items;
+        } catch (IOException | BufferUnderflowException | IllegalArgumentException e) {
+            Log.w(TAG, "Dropping unreadable feed snapshot", e);
+            file.delete();
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * Replace the snapshot with the first items of a feed. Does disk I/O, call off the main thread.
+     */
+    public synchronized void write(String feedUrl, List<RssNewsItem> items) {
+        if (items == lastWritten) {
+            return;
+        }
+
+        List<RssNewsItem> snapshotItems = items.subList(0, Math.min(items.size(), MAX_ITEMS));
+        List<byte[]> strings = new ArrayList<>();
+        int size = 4 + 4 + 4;
+        size += addString(strings, feedUrl);
+        for (RssNewsItem item : snapshotItems) {
+            size += addString(strings, item.getTitle());
+            size += addString(strings, item.getCleanDescription());
+            size += addString(strings, item.getPubDate());
+            size += addString(strings, item.getLink());
+            size += addString(strings, item.getImageUrl());
+            size += 8;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.putInt(MAGIC).putInt(VERSION);
+        int next = 0;
+        putString(buffer, strings.get(next++));
+        buffer.putInt(snapshotItems.size());
+        for (RssNewsItem item : snapshotItems) {
+            for (int field = 0; field < 5; field++) {
+                putString(buffer, strings.get(next++));
+            }
+            buffer.putLong(item.getPublishedAt());
+        }
+        buffer.flip();
+
+        // Written aside then renamed, a crash never leaves a half-written snapshot
+        File tempFile = new File(file.getPath() + ".tmp");
+        try (FileOutputStream out = new FileOutputStream(tempFile);
+             FileChannel channel = out.getChannel()) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (IOException e) {
+            Log.w(TAG, "Error writing feed snapshot", e);
+            tempFile.delete();
+            return;
+        }
+
+        if (tempFile.renameTo(file)) {
+            lastWritten = items;
+        } else {
+            tempFile.delete();
+        }
+    }
+
+    private static int addString(List<byte[]> strings, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        strings.add(bytes);
+        return 4 + bytes.length;
+    }
+
+    private static void putString(ByteBuffer buffer, byte[] bytes) {
+        buffer.putInt(bytes.length);
+        buffer.put(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IllegalArgumentException("Corrupt string length " + length);
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
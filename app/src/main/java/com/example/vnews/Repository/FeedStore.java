@@ -0,0 +1,163 @@
+package com.example.vnews.Repository;
+
+import android.content.ContentValues;
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteOpenHelper;
+
+import com.example.vnews.Model.RssNewsItem;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * SQLite store for parsed RSS feeds, so screens can render the last known items
+ * immediately after a cold start or process death.
+ * Every method does disk I/O and must be called off the main thread.
+ */
+public class FeedStore extends SQLiteOpenHelper {
+
+    private static final String DATABASE_NAME = "vnews_feeds.db";
+    private static final int DATABASE_VERSION = 1;
+
+    // Table names
+    private static final String TABLE_FEEDS = "feeds";
+    private static final String TABLE_FEED_ITEMS = "feed_items";
+
+    // Singleton instance
+    private static volatile FeedStore instance;
+
+    private FeedStore(Context context) {
+        super(context.getApplicationContext(), DATABASE_NAME, null, DATABASE_VERSION);
+    }
+
+    // Get singleton instance
+    public static FeedStore getInstance(Context context) {
+        if (instance == null) {
+            synchronized (FeedStore.class) {
+                if (instance == null) {
+                    instance = new FeedStore(context);
+                }
+            }
+        }
+        return instance;
+    }
+
+    @Override
+    public void onCreate(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE " + TABLE_FEEDS + " ("
+                + "url TEXT PRIMARY KEY, "
+                + "fetched_at INTEGER NOT NULL, "
+                + "etag TEXT, "
+                + "last_modified TEXT)");
+        db.execSQL("CREATE TABLE " + TABLE_FEED_ITEMS + " ("
+                + "feed_url TEXT NOT NULL, "
+                + "position INTEGER NOT NULL, "
+                + "title TEXT, "
+                + "description TEXT, "
+                + "pub_date TEXT, "
+                + "link TEXT, "
+                + "image_url TEXT, "
+                + "PRIMARY KEY (feed_url, position))");
+    }
+
+    @Override
+    public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
+        // The store is only a cache, so it is simply rebuilt
+        db.execSQL("DROP TABLE IF EXISTS " + TABLE_FEED_ITEMS);
+        db.execSQL("DROP TABLE IF EXISTS " + TABLE_FEEDS);
+        onCreate(db);
+    }
+
+    /**
+     * Load the stored copy of a feed
+     *
+     * @param url Feed URL
+     * @return The stored feed, or null if it was never saved
+     */
+    public FeedFetcher.CachedFeed load(String url) {
+        SQLiteDatabase db = getReadableDatabase();
+
+        long fetchedAt;
+        String etag;
+        String lastModified;
+        try (Cursor cursor = db.query(TABLE_FEEDS,
+                new String[]{"fetched_at", "etag", "last_modified"},
+                "url = ?", new String[]{url}, null, null, null)) {
+            if (!cursor.moveToFirst()) {
+                return null;
+            }
+            fetchedAt = cursor.getLong(0);
+            etag = cursor.getString(1);
+            lastModified = cursor.getString(2);
+        }
+
+        List<RssNewsItem> items = new ArrayList<>();
+        try (Cursor cursor = db.query(TABLE_FEED_ITEMS,
+                new String[]{"title", "description", "pub_date", "link", "image_url"},
+                "feed_url = ?", new String[]{url}, null, null, "position")) {
+            while (cursor.moveToNext()) {
+                items.add(new RssNewsItem(
+                        cursor.getString(0),
+                        cursor.getString(1),
+                        cursor.getString(2),
+                        cursor.getString(3),
+                        cursor.getString(4)));
+            }
+        }
+
+        return new FeedFetcher.CachedFeed(etag, lastModified, Collections.unmodifiableList(items), fetchedAt);
+    }
+
+    /**
+     * Replace the stored copy of a feed
+     *
+     * @param url Feed URL
+     * @param feed Items, validators and fetch time to store
+     */
+    public void save(String url, FeedFetcher.CachedFeed feed) {
+        SQLiteDatabase db = getWritableDatabase();
+        db.beginTransaction();
+        try {
+            saveFeedRow(db, url, feed);
+
+            db.delete(TABLE_FEED_ITEMS, "feed_url = ?", new String[]{url});
+            ContentValues values = new ContentValues();
+            List<RssNewsItem> items = feed.getItems();
+            for (int i = 0; i < items.size(); i++) {
+                RssNewsItem item = items.get(i);
+                values.clear();
+                values.put("feed_url", url);
+                values.put("position", i);
+                values.put("title", item.getTitle());
+                values.put("description", item.getDescription());
+                values.put("pub_date", item.getPubDate());
+                values.put("link", item.getLink());
+                values.put("image_url", item.getImageUrl());
+                db.insert(TABLE_FEED_ITEMS, null, values);
+            }
+
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    /**
+     * Update only the fetch time and validators, when the items did not change
+     */
+    public void touch(String url, FeedFetcher.CachedFeed feed) {
+        saveFeedRow(getWritableDatabase(), url, feed);
+    }
+
+    private void saveFeedRow(SQLiteDatabase db, String url, FeedFetcher.CachedFeed feed) {
+        ContentValues values = new ContentValues();
+        values.put("url", url);
+        values.put("fetched_at", feed.getFetchedAt());
+        values.put("etag", feed.getEtag());
+        values.put("last_modified", feed.getLastModified());
+        db.insertWithOnConflict(TABLE_FEEDS, null, values, SQLiteDatabase.CONFLICT_REPLACE);
+    }
+}
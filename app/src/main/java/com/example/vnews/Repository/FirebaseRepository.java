@@ -12,27 +12,49 @@ import com.google.android.gms.tasks.OnCompleteListener;
 import com.google.android.gms.tasks.OnFailureListener;
 import com.google.android.gms.tasks.OnSuccessListener;
 import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
 import com.google.firebase.auth.AuthResult;
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.firestore.CollectionReference;
 import com.google.firebase.firestore.DocumentReference;
 import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldPath;
 import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.FirebaseFirestoreSettings;
 import com.google.firebase.firestore.Query;
 import com.google.firebase.firestore.QueryDocumentSnapshot;
 import com.google.firebase.firestore.QuerySnapshot;
+import com.google.firebase.firestore.WriteBatch;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
 
 public class FirebaseRepository {
     private static final String TAG = "FirebaseRepository";
     
-    // Firebase instances
-    private final FirebaseFirestore db;
-    private final FirebaseAuth mAuth;
+    // Firebase instances, created on first use so app startup never waits for them
+    private static volatile FirebaseFirestore firestore;
+    private static volatile FirebaseAuth auth;
+    
+    // Local set of the current user's saved article ids, set at startup
+    private static volatile SavedArticlesIndex savedArticlesIndex;
+    
+    // Local Firestore emulator to use instead of the project, e.g. "10.0.2.2" from the Android emulator
+    private static volatile String emulatorHost;
+    private static volatile int emulatorPort;
+    
+    // Users whose old saved_articles documents were already moved, the index remembers them across restarts
+    private static final Set<String> migratedUsers = ConcurrentHashMap.newKeySet();
+    
+    // Users whose migration is running
+    private static final Set<String> migratingUsers = ConcurrentHashMap.newKeySet();
     
     // Collection names
     private static final String ARTICLES_COLLECTION = "articles";
@@ -40,13 +62,17 @@ public class FirebaseRepository {
     private static final String SAVED_ARTICLES_COLLECTION = "saved_articles";
     private static final String CATEGORIES_COLLECTION = "categories";
     
+    // Most values Firestore accepts in one whereIn filter
+    private static final int WHERE_IN_LIMIT = 30;
+    
+    // Most writes Firestore accepts in one batch
+    private static final int MAX_BATCH_WRITES = 500;
+    
     // Singleton instance
     private static volatile FirebaseRepository instance;
     
     // Private constructor for singleton pattern
     public FirebaseRepository() {
-        db = FirebaseFirestore.getInstance();
-        mAuth = FirebaseAuth.getInstance();
     }
 
 
@@ -63,13 +89,69 @@ public class FirebaseRepository {
         return instance;
     }
     
+    /**
+     * Firestore instance, configured the first time any screen needs it.
+     * Settings can only be applied before the first read or write.
+     * Package-private for the emulator tests.
+     */
+    static FirebaseFirestore db() {
+        if (firestore == null) {
+            synchronized (FirebaseRepository.class) {
+                if (firestore == null) {
+                    FirebaseFirestore db = FirebaseFirestore.getInstance();
+                    if (emulatorHost != null) {
+                        db.useEmulator(emulatorHost, emulatorPort);
+                    }
+                    try {
+                        FirebaseFirestoreSettings settings = new FirebaseFirestoreSettings.Builder()
+                                .setPersistenceEnabled(false)
+                                .build();
+                        db.setFirestoreSettings(settings);
+                    } catch (IllegalStateException e) {
+                        Log.e(TAG, "Firestore was used before its settings were applied", e);
+                    }
+                    firestore = db;
+                }
+            }
+        }
+        return firestore;
+    }
+    
+    /**
+     * Talk to a local Firestore emulator instead of the project, to try saved-article changes
+     * and their migration on throwaway data. Must be called before the first Firestore use.
+     */
+    public static void useFirestoreEmulator(String host, int port) {
+        emulatorHost = host;
+        emulatorPort = port;
+    }
+    
+    // FirebaseAuth instance, created the first time a screen asks for the user
+    private static FirebaseAuth auth() {
+        if (auth == null) {
+            synchronized (FirebaseRepository.class) {
+                if (auth == null) {
+                    auth = FirebaseAuth.getInstance();
+                }
+            }
+        }
+        return auth;
+    }
+    
+    /**
+     * Answer saved-article checks from a local index instead of Firestore queries
+     */
+    public static void setSavedArticlesIndex(SavedArticlesIndex index) {
+        savedArticlesIndex = index;
+    }
+    
     // ===== ARTICLES METHODS =====
     
     /**
-     * Get all articles
+     * Get all articles. Reads the whole collection, lists should page with ArticlePager instead
      */
     public void getAllArticles(final FirestoreCallback<List<articles>> callback) {
-        db.collection(ARTICLES_COLLECTION)
+        db().collection(ARTICLES_COLLECTION)
                 .orderBy("publishedAt", Query.Direction.DESCENDING)
                 .get()
                 .addOnSuccessListener(queryDocumentSnapshots -> {
@@ -87,10 +169,10 @@ public class FirebaseRepository {
     }
     
     /**
-     * Get articles by category
+     * Get articles by category. Reads the whole category, lists should page with ArticlePager instead
      */
     public void getArticlesByCategory(String categoryId, final FirestoreCallback<List<articles>> callback) {
-        db.collection(ARTICLES_COLLECTION)
+        db().collection(ARTICLES_COLLECTION)
                 .whereEqualTo("categoryId", categoryId)
                 .orderBy("publishedAt", Query.Direction.DESCENDING)
                 .get()
@@ -108,11 +190,63 @@ public class FirebaseRepository {
                 });
     }
     
+    /**
+     * Get one page of all articles, newest first
+     *
+     * @param pageSize Number of articles in the page
+     * @param startAfter Last document of the previous page, or null for the first page
+     */
+    public void getArticlesPage(int pageSize, DocumentSnapshot startAfter,
+                                final FirestoreCallback<Page<articles>> callback) {
+        Query query = db().collection(ARTICLES_COLLECTION)
+                .orderBy("publishedAt", Query.Direction.DESCENDING);
+        getArticlesPage(query, pageSize, startAfter, callback);
+    }
+    
+    /**
+     * Get one page of the articles of a category, newest first
+     *
+     * @param pageSize Number of articles in the page
+     * @param startAfter Last document of the previous page, or null for the first page
+     */
+    public void getArticlesByCategoryPage(String categoryId, int pageSize, DocumentSnapshot startAfter,
+                                          final FirestoreCallback<Page<articles>> callback) {
+        Query query = db().collection(ARTICLES_COLLECTION)
+                .whereEqualTo("categoryId", categoryId)
+                .orderBy("publishedAt", Query.Direction.DESCENDING);
+        getArticlesPage(query, pageSize, startAfter, callback);
+    }
+    
+    // Read pageSize documents of an ordered query after the cursor
+    private void getArticlesPage(Query query, int pageSize, DocumentSnapshot startAfter,
+                                 final FirestoreCallback<Page<articles>> callback) {
+        if (startAfter != null) {
+            query = query.startAfter(startAfter);
+        }
+        query.limit(pageSize)
+                .get()
+                .addOnSuccessListener(queryDocumentSnapshots -> {
+                    List<articles> articlesList = new ArrayList<>();
+                    for (QueryDocumentSnapshot document : queryDocumentSnapshots) {
+                        articles article = document.toObject(articles.class);
+                        articlesList.add(article);
+                    }
+                    List<DocumentSnapshot> documents = queryDocumentSnapshots.getDocuments();
+                    DocumentSnapshot last = documents.isEmpty() ? startAfter : documents.get(documents.size() - 1);
+                    // A short page is the end of the query
+                    callback.onCallback(new Page<>(articlesList, last, documents.size() == pageSize));
+                })
+                .addOnFailureListener(e -> {
+                    Log.e(TAG, "Error getting articles page", e);
+                    callback.onError(e);
+                });
+    }
+    
     /**
      * Get article by id
      */
     public void getArticleById(String articleId, final FirestoreCallback<articles> callback) {
-        db.collection(ARTICLES_COLLECTION)
+        db().collection(ARTICLES_COLLECTION)
                 .document(articleId)
                 .get()
                 .addOnSuccessListener(documentSnapshot -> {
@@ -134,11 +268,11 @@ public class FirebaseRepository {
      */
     public void addArticle(articles article, final FirestoreCallback<String> callback) {
         if (article.getId() == null || article.getId().isEmpty()) {
-            DocumentReference docRef = db.collection(ARTICLES_COLLECTION).document();
+            DocumentReference docRef = db().collection(ARTICLES_COLLECTION).document();
             article.setId(docRef.getId());
         }
         
-        db.collection(ARTICLES_COLLECTION)
+        db().collection(ARTICLES_COLLECTION)
                 .document(article.getId())
                 .set(article)
                 .addOnSuccessListener(aVoid -> callback.onCallback(article.getId()))
@@ -152,7 +286,7 @@ public class FirebaseRepository {
      * Update article
      */
     public void updateArticle(articles article, final FirestoreCallback<Void> callback) {
-        db.collection(ARTICLES_COLLECTION)
+        db().collection(ARTICLES_COLLECTION)
                 .document(article.getId())
                 .set(article)
                 .addOnSuccessListener(aVoid -> callback.onCallback(null))
@@ -166,7 +300,7 @@ public class FirebaseRepository {
      * Delete article
      */
     public void deleteArticle(String articleId, final FirestoreCallback<Void> callback) {
-        db.collection(ARTICLES_COLLECTION)
+        db().collection(ARTICLES_COLLECTION)
                 .document(articleId)
                 .delete()
                 .addOnSuccessListener(aVoid -> callback.onCallback(null))
@@ -182,7 +316,7 @@ public class FirebaseRepository {
      * Register user with email and password
      */
     public void registerUser(String email, String password, final FirestoreCallback<String> callback) {
-        mAuth.createUserWithEmailAndPassword(email, password)
+        auth().createUserWithEmailAndPassword(email, password)
                 .addOnCompleteListener(task -> {
                     if (task.isSuccessful() && task.getResult() != null && task.getResult().getUser() != null) {
                         String userId = task.getResult().getUser().getUid();
@@ -197,10 +331,12 @@ public class FirebaseRepository {
      * Login user with email and password
      */
     public void loginUser(String email, String password, final FirestoreCallback<String> callback) {
-        mAuth.signInWithEmailAndPassword(email, password)
+        auth().signInWithEmailAndPassword(email, password)
                 .addOnCompleteListener(task -> {
                     if (task.isSuccessful() && task.getResult() != null && task.getResult().getUser() != null) {
                         String userId = task.getResult().getUser().getUid();
+                        // Bookmarks of the new user are ready by the time a list shows them
+                        startSavedArticlesIndex(userId);
                         callback.onCallback(userId);
                     } else {
                         callback.onError(task.getException());
@@ -215,7 +351,7 @@ public class FirebaseRepository {
         Log.d(TAG, "Bắt đầu đăng nhập với tên đăng nhập: " + username);
         
         // Đầu tiên tìm kiếm user theo username
-        db.collection(USERS_COLLECTION)
+        db().collection(USERS_COLLECTION)
                 .whereEqualTo("username", username)
                 .get()
                 .addOnSuccessListener(queryDocumentSnapshots -> {
@@ -246,7 +382,7 @@ public class FirebaseRepository {
                         Log.e(TAG, "Không tìm thấy tên đăng nhập: " + username);
                         
                         // Thử tìm kiếm không phân biệt hoa thường (cách này chỉ để debug)
-                        db.collection(USERS_COLLECTION)
+                        db().collection(USERS_COLLECTION)
                                 .get()
                                 .addOnSuccessListener(allUsers -> {
                                     boolean found = false;
@@ -283,7 +419,7 @@ public class FirebaseRepository {
      * Add user profile
      */
     public void addUserProfile(users user, final FirestoreCallback<Void> callback) {
-        db.collection(USERS_COLLECTION)
+        db().collection(USERS_COLLECTION)
                 .document(user.getId())
                 .set(user)
                 .addOnSuccessListener(aVoid -> callback.onCallback(null))
@@ -299,7 +435,7 @@ public class FirebaseRepository {
     public void isUsernameExists(String username, final FirestoreCallback<Boolean> callback) {
         Log.d(TAG, "Kiểm tra username tồn tại: " + username);
         
-        db.collection(USERS_COLLECTION)
+        db().collection(USERS_COLLECTION)
                 .whereEqualTo("username", username)
                 .get()
                 .addOnSuccessListener(queryDocumentSnapshots -> {
@@ -331,7 +467,7 @@ public class FirebaseRepository {
         Log.d(TAG, "Getting user profile for userId: " + userId);
         
         // First try SERVER_WITH_CACHE_FALLBACK
-        db.collection(USERS_COLLECTION)
+        db().collection(USERS_COLLECTION)
                 .document(userId)
                 .get(com.google.firebase.firestore.Source.SERVER)
                 .addOnSuccessListener(documentSnapshot -> {
@@ -358,7 +494,7 @@ public class FirebaseRepository {
         Log.d(TAG, "Attempting to get user profile from cache");
         
         // Try to get from default source (which will use cache if available)
-        db.collection(USERS_COLLECTION)
+        db().collection(USERS_COLLECTION)
                 .document(userId)
                 .get()
                 .addOnSuccessListener(documentSnapshot -> {
@@ -394,8 +530,8 @@ public class FirebaseRepository {
             
             // Get email from Firebase Auth if available, otherwise use placeholder
             String email = "unavailable@offline.mode";
-            if (mAuth.getCurrentUser() != null && mAuth.getCurrentUser().getEmail() != null) {
-                email = mAuth.getCurrentUser().getEmail();
+            if (auth().getCurrentUser() != null && auth().getCurrentUser().getEmail() != null) {
+                email = auth().getCurrentUser().getEmail();
                 Log.d(TAG, "Using email from Firebase Auth for offline placeholder: " + email);
             }
             offlineUser.setEmail(email);
@@ -411,7 +547,7 @@ public class FirebaseRepository {
      * Get all users (mostly for debugging)
      */
     public void getAllUsers(final FirestoreCallback<List<users>> callback) {
-        db.collection(USERS_COLLECTION)
+        db().collection(USERS_COLLECTION)
                 .get()
                 .addOnSuccessListener(queryDocumentSnapshots -> {
                     List<users> usersList = new ArrayList<>();
@@ -431,7 +567,7 @@ public class FirebaseRepository {
      * Update user profile
      */
     public void updateUserProfile(users user, final FirestoreCallback<Void> callback) {
-        db.collection(USERS_COLLECTION)
+        db().collection(USERS_COLLECTION)
                 .document(user.getId())
                 .set(user)
                 .addOnSuccessListener(aVoid -> callback.onCallback(null))
@@ -443,17 +579,20 @@ public class FirebaseRepository {
     
     // ===== SAVED ARTICLES METHODS =====
     
+    // Saved articles of a user, one document per article: users/{userId}/saved_articles/{articleId}
+    private static CollectionReference savedArticlesOf(String userId) {
+        return db().collection(USERS_COLLECTION).document(userId).collection(SAVED_ARTICLES_COLLECTION);
+    }
+    
     /**
-     * Save article
+     * Save article. The document is keyed by the article, saving twice only updates the save time
      */
     public void saveArticle(String userId, String articleId, final FirestoreCallback<String> callback) {
-        DocumentReference docRef = db.collection(SAVED_ARTICLES_COLLECTION).document();
-        String id = docRef.getId();
-        
-        saved_articles savedArticle = new saved_articles(id, articleId, userId, System.currentTimeMillis());
+        saved_articles savedArticle = new saved_articles(articleId, articleId, userId, System.currentTimeMillis());
         
-        docRef.set(savedArticle)
-                .addOnSuccessListener(aVoid -> callback.onCallback(id))
+        savedArticlesOf(userId).document(articleId)
+                .set(savedArticle)
+                .addOnSuccessListener(aVoid -> callback.onCallback(articleId))
                 .addOnFailureListener(e -> {
                     Log.e(TAG, "Error saving article", e);
                     callback.onError(e);
@@ -461,29 +600,153 @@ public class FirebaseRepository {
     }
     
     /**
-     * Check if article is saved
+     * Check if article is saved, from the local index once it holds the user's ids
      */
     public void isArticleSaved(String userId, String articleId, final FirestoreCallback<Boolean> callback) {
-        db.collection(SAVED_ARTICLES_COLLECTION)
+        SavedArticlesIndex index = startSavedArticlesIndex(userId);
+        if (index != null && index.isReadyFor(userId)) {
+            callback.onCallback(index.contains(articleId));
+            return;
+        }
+        
+        savedArticlesOf(userId).document(articleId)
+                .get()
+                .addOnSuccessListener(documentSnapshot -> callback.onCallback(documentSnapshot.exists()))
+                .addOnFailureListener(e -> {
+                    Log.e(TAG, "Error checking if article is saved", e);
+                    callback.onError(e);
+                });
+    }
+    
+    /**
+     * Check if the current user saved an article without any read, e.g. for bookmark icons in lists.
+     * False while the index does not hold the user's ids yet.
+     */
+    public boolean isArticleSaved(String articleId) {
+        String userId = getCurrentUserId();
+        SavedArticlesIndex index = userId != null ? startSavedArticlesIndex(userId) : null;
+        return index != null && index.isReadyFor(userId) && index.contains(articleId);
+    }
+    
+    // Start keeping the index current for the signed-in user, null if there is no index or
+    // userId is another user, whose checks read the document directly and never replace the index.
+    // A user's old documents are moved first, the listener only starts once they are all under the user
+    private SavedArticlesIndex startSavedArticlesIndex(String userId) {
+        if (!userId.equals(getCurrentUserId())) {
+            return null;
+        }
+        SavedArticlesIndex index = savedArticlesIndex;
+        if (migratedUsers.contains(userId) || (index != null && index.isMigrated(userId))) {
+            migratedUsers.add(userId);
+            if (index != null) {
+                index.start(userId, savedArticlesOf(userId));
+            }
+        } else if (migratingUsers.add(userId)) {
+            // Until the listener starts the index is not ready, checks read the document directly
+            migrateSavedArticles(userId, new FirestoreCallback<Integer>() {
+                @Override
+                public void onCallback(Integer moved) {
+                    if (moved > 0) {
+                        Log.d(TAG, "Migrated " + moved + " saved articles of " + userId);
+                    }
+                    migratedUsers.add(userId);
+                    migratingUsers.remove(userId);
+                    if (index != null) {
+                        index.setMigrated(userId);
+                        // The user may have logged out while the documents were moved
+                        if (userId.equals(getCurrentUserId())) {
+                            index.start(userId, savedArticlesOf(userId));
+                        }
+                    }
+                }
+                
+                @Override
+                public void onError(Exception e) {
+                    // Tried again on next use, the old documents are still there
+                    migratingUsers.remove(userId);
+                }
+            });
+        }
+        return index;
+    }
+    
+    /**
+     * Move a user's saved articles from the old global saved_articles collection, where documents
+     * had random ids, to one document per article under the user. Duplicates collapse into one
+     * document keeping the first save time. Old documents are only deleted once every copy is
+     * written, so an interrupted run never loses an article and running it again moves what is left.
+     *
+     * @param callback Receives the number of articles moved
+     */
+    public void migrateSavedArticles(String userId, final FirestoreCallback<Integer> callback) {
+        db().collection(SAVED_ARTICLES_COLLECTION)
                 .whereEqualTo("userId", userId)
-                .whereEqualTo("articleId", articleId)
                 .get()
                 .addOnSuccessListener(queryDocumentSnapshots -> {
-                    boolean isSaved = !queryDocumentSnapshots.isEmpty();
-                    callback.onCallback(isSaved);
+                    if (queryDocumentSnapshots.isEmpty()) {
+                        callback.onCallback(0);
+                        return;
+                    }
+                    
+                    Map<String, Long> savedAtByArticle = new LinkedHashMap<>();
+                    for (QueryDocumentSnapshot document : queryDocumentSnapshots) {
+                        saved_articles savedArticle = document.toObject(saved_articles.class);
+                        String articleId = savedArticle.getArticleId();
+                        if (articleId == null) {
+                            continue;
+                        }
+                        Long savedAt = savedAtByArticle.get(articleId);
+                        if (savedAt == null || savedArticle.getSavedAt() < savedAt) {
+                            savedAtByArticle.put(articleId, savedArticle.getSavedAt());
+                        }
+                    }
+                    
+                    commitInBatches(new ArrayList<>(savedAtByArticle.entrySet()),
+                            (batch, entry) -> batch.set(savedArticlesOf(userId).document(entry.getKey()),
+                                    new saved_articles(entry.getKey(), entry.getKey(), userId, entry.getValue())))
+                            .continueWithTask(copies -> {
+                                if (!copies.isSuccessful()) {
+                                    return copies;
+                                }
+                                return commitInBatches(queryDocumentSnapshots.getDocuments(),
+                                        (batch, document) -> batch.delete(document.getReference()));
+                            })
+                            .addOnSuccessListener(aVoid -> callback.onCallback(savedAtByArticle.size()))
+                            .addOnFailureListener(e -> {
+                                Log.e(TAG, "Error migrating saved articles", e);
+                                callback.onError(e);
+                            });
                 })
                 .addOnFailureListener(e -> {
-                    Log.e(TAG, "Error checking if article is saved", e);
+                    Log.e(TAG, "Error reading old saved articles", e);
                     callback.onError(e);
                 });
     }
     
+    // Write items in batches of at most MAX_BATCH_WRITES, committed together
+    private static <T> Task<Void> commitInBatches(List<T> items, BiConsumer<WriteBatch, T> write) {
+        List<Task<Void>> commits = new ArrayList<>();
+        WriteBatch batch = db().batch();
+        int writes = 0;
+        for (T item : items) {
+            write.accept(batch, item);
+            if (++writes == MAX_BATCH_WRITES) {
+                commits.add(batch.commit());
+                batch = db().batch();
+                writes = 0;
+            }
+        }
+        if (writes > 0) {
+            commits.add(batch.commit());
+        }
+        return Tasks.whenAll(commits);
+    }
+    
     /**
      * Get saved articles for user
      */
     public void getSavedArticles(String userId, final FirestoreCallback<List<articles>> callback) {
-        db.collection(SAVED_ARTICLES_COLLECTION)
-                .whereEqualTo("userId", userId)
+        savedArticlesOf(userId)
                 .orderBy("savedAt", Query.Direction.DESCENDING)
                 .get()
                 .addOnSuccessListener(queryDocumentSnapshots -> {
@@ -508,62 +771,61 @@ public class FirebaseRepository {
     }
     
     /**
-     * Get articles by list of ids
+     * Get articles by list of ids, in the order of the ids.
+     * Ids are looked up WHERE_IN_LIMIT at a time and the batches run concurrently,
+     * so a whole library loads in a few round trips. Missing articles are skipped.
      */
     private void getArticlesByIds(List<String> articleIds, final FirestoreCallback<List<articles>> callback) {
-        List<articles> articlesList = new ArrayList<>();
-        final int[] count = {0};
-        
-        for (String articleId : articleIds) {
-            db.collection(ARTICLES_COLLECTION)
-                    .document(articleId)
-                    .get()
-                    .addOnSuccessListener(documentSnapshot -> {
-                        if (documentSnapshot.exists()) {
-                            articles article = documentSnapshot.toObject(articles.class);
-                            articlesList.add(article);
-                        }
-                        
-                        count[0]++;
-                        if (count[0] == articleIds.size()) {
-                            callback.onCallback(articlesList);
-                        }
-                    })
-                    .addOnFailureListener(e -> {
-                        Log.e(TAG, "Error getting article by id", e);
-                        count[0]++;
-                        if (count[0] == articleIds.size()) {
-                            callback.onCallback(articlesList);
-                        }
-                    });
+        List<String> uniqueIds = new ArrayList<>(new LinkedHashSet<>(articleIds));
+        List<Task<QuerySnapshot>> batches = new ArrayList<>();
+        for (int start = 0; start < uniqueIds.size(); start += WHERE_IN_LIMIT) {
+            List<String> batchIds = uniqueIds.subList(start, Math.min(start + WHERE_IN_LIMIT, uniqueIds.size()));
+            batches.add(db().collection(ARTICLES_COLLECTION)
+                    .whereIn(FieldPath.documentId(), new ArrayList<>(batchIds))
+                    .get());
         }
+        
+        // Completion listeners run on the main thread, results are only gathered once every batch is done
+        Tasks.whenAllComplete(batches).addOnCompleteListener(done -> {
+            Map<String, articles> articlesById = new HashMap<>();
+            Exception error = null;
+            for (Task<QuerySnapshot> batch : batches) {
+                if (!batch.isSuccessful()) {
+                    Log.e(TAG, "Error getting articles by ids", batch.getException());
+                    error = batch.getException();
+                    continue;
+                }
+                for (QueryDocumentSnapshot document : batch.getResult()) {
+                    articlesById.put(document.getId(), document.toObject(articles.class));
+                }
+            }
+            
+            // Every batch failed, nothing to show
+            if (articlesById.isEmpty() && error != null) {
+                callback.onError(error);
+                return;
+            }
+            
+            List<articles> articlesList = new ArrayList<>();
+            for (String articleId : uniqueIds) {
+                articles article = articlesById.get(articleId);
+                if (article != null) {
+                    articlesList.add(article);
+                }
+            }
+            callback.onCallback(articlesList);
+        });
     }
     
     /**
-     * Unsave article
+     * Unsave article, a single delete of the article's document
      */
     public void unsaveArticle(String userId, String articleId, final FirestoreCallback<Void> callback) {
-        db.collection(SAVED_ARTICLES_COLLECTION)
-                .whereEqualTo("userId", userId)
-                .whereEqualTo("articleId", articleId)
-                .get()
-                .addOnSuccessListener(queryDocumentSnapshots -> {
-                    if (!queryDocumentSnapshots.isEmpty()) {
-                        String savedArticleId = queryDocumentSnapshots.getDocuments().get(0).getId();
-                        db.collection(SAVED_ARTICLES_COLLECTION)
-                                .document(savedArticleId)
-                                .delete()
-                                .addOnSuccessListener(aVoid -> callback.onCallback(null))
-                                .addOnFailureListener(e -> {
-                                    Log.e(TAG, "Error unsaving article", e);
-                                    callback.onError(e);
-                                });
-                    } else {
-                        callback.onCallback(null);
-                    }
-                })
+        savedArticlesOf(userId).document(articleId)
+                .delete()
+                .addOnSuccessListener(aVoid -> callback.onCallback(null))
                 .addOnFailureListener(e -> {
-                    Log.e(TAG, "Error finding saved article", e);
+                    Log.e(TAG, "Error unsaving article", e);
                     callback.onError(e);
                 });
     }
@@ -574,7 +836,7 @@ public class FirebaseRepository {
      * Get all categories
      */
     public void getAllCategories(final FirestoreCallback<List<categories>> callback) {
-        db.collection(CATEGORIES_COLLECTION)
+        db().collection(CATEGORIES_COLLECTION)
                 .orderBy("name")
                 .get()
                 .addOnSuccessListener(queryDocumentSnapshots -> {
@@ -596,11 +858,11 @@ public class FirebaseRepository {
      */
     public void addCategory(categories category, final FirestoreCallback<String> callback) {
         if (category.getId() == null || category.getId().isEmpty()) {
-            DocumentReference docRef = db.collection(CATEGORIES_COLLECTION).document();
+            DocumentReference docRef = db().collection(CATEGORIES_COLLECTION).document();
             category.setId(docRef.getId());
         }
         
-        db.collection(CATEGORIES_COLLECTION)
+        db().collection(CATEGORIES_COLLECTION)
                 .document(category.getId())
                 .set(category)
                 .addOnSuccessListener(aVoid -> callback.onCallback(category.getId()))
@@ -614,15 +876,15 @@ public class FirebaseRepository {
      * Check if a user is currently logged in
      */
     public boolean isUserLoggedIn() {
-        return mAuth.getCurrentUser() != null;
+        return auth().getCurrentUser() != null;
     }
     
     /**
      * Get current user ID
      */
     public String getCurrentUserId() {
-        if (mAuth.getCurrentUser() != null) {
-            return mAuth.getCurrentUser().getUid();
+        if (auth().getCurrentUser() != null) {
+            return auth().getCurrentUser().getUid();
         }
         return null;
     }
@@ -631,12 +893,12 @@ public class FirebaseRepository {
      * Get current user name or email as fallback
      */
     public String getCurrentUserName() {
-        if (mAuth.getCurrentUser() != null) {
-            if (mAuth.getCurrentUser().getDisplayName() != null && 
-                !mAuth.getCurrentUser().getDisplayName().isEmpty()) {
-                return mAuth.getCurrentUser().getDisplayName();
+        if (auth().getCurrentUser() != null) {
+            if (auth().getCurrentUser().getDisplayName() != null && 
+                !auth().getCurrentUser().getDisplayName().isEmpty()) {
+                return auth().getCurrentUser().getDisplayName();
             } else {
-                return mAuth.getCurrentUser().getEmail();
+                return auth().getCurrentUser().getEmail();
             }
         }
         return "Khách";
@@ -646,8 +908,38 @@ public class FirebaseRepository {
      * Logout current user
      */
     public void logoutUser() {
-        if (mAuth != null) {
-            mAuth.signOut();
+        auth().signOut();
+        SavedArticlesIndex index = savedArticlesIndex;
+        if (index != null) {
+            index.stop();
+        }
+    }
+    
+    /**
+     * One page of a query and the cursor to read the next one
+     */
+    public static class Page<T> {
+        private final List<T> items;
+        private final DocumentSnapshot last;
+        private final boolean hasMore;
+        
+        Page(List<T> items, DocumentSnapshot last, boolean hasMore) {
+            this.items = items;
+            this.last = last;
+            this.hasMore = hasMore;
+        }
+        
+        public List<T> getItems() {
+            return items;
+        }
+        
+        // Cursor of the next page, passed back as startAfter
+        public DocumentSnapshot getLast() {
+            return last;
+        }
+        
+        public boolean hasMore() {
+            return hasMore;
         }
     }
     
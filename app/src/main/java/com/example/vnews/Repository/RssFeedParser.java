@@ -0,0 +1,151 @@
+package com.example.vnews.Repository;
+
+import android.util.Xml;
+
+import com.example.vnews.Model.RssNewsItem;
+
+import org.xmlpull.v1.XmlPullParser;
+import org.xmlpull.v1.XmlPullParserException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Streaming RSS parser that reads <item> elements straight from the response stream
+ * in a single pass, without building a DOM or buffering the whole body.
+ */
+public class RssFeedParser {
+
+    // Image URL embedded in the HTML description
+    private static final Pattern IMAGE_SRC_PATTERN = Pattern.compile("src=\"(.*?)\"");
+
+    /**
+     * Callback invoked for each item as soon as its closing tag is read
+     */
+    public interface OnItemParsedListener {
+        void onItemParsed(RssNewsItem item);
+    }
+
+    /**
+     * Parse a feed and collect all items into a list
+     *
+     * @param in The response stream
+     * @param charset Charset from the Content-Type header, or null to detect from the XML declaration
+     * @return The parsed items in feed order
+     */
+    public static List<RssNewsItem> parse(InputStream in, String charset) throws IOException {
+        List<RssNewsItem> newsList = new ArrayList<>();
+        parse(in, charset, newsList::add);
+        return newsList;
+    }
+
+    /**
+     * Parse a feed and emit each item to the listener as it is read
+     *
+     * @param in The response stream
+     * @param charset Charset from the Content-Type header, or null to detect from the XML declaration
+     * @param listener Receives every parsed item
+     */
+    public static void parse(InputStream in, String charset, OnItemParsedListener listener) throws IOException {
+        try {
+            XmlPullParser parser = Xml.newPullParser();
+            parser.setFeature(XmlPullParser.FEATURE_PROCESS_NAMESPACES, false);
+            parser.setInput(in, charset);
+
+            boolean inItem = false;
+            String title = "";
+            String pubDate = "";
+            String link = "";
+            String description = "";
+            String enclosureUrl = null;
+
+            int event = parser.next();
+            while (event != XmlPullParser.END_DOCUMENT) {
+                if (event == XmlPullParser.START_TAG) {
+                    String name = parser.getName();
+                    if ("item".equals(name)) {
+                        inItem = true;
+                        title = "";
+                        pubDate = "";
+                        link = "";
+                        description = "";
+                        enclosureUrl = null;
+                    } else if (inItem) {
+                        switch (name) {
+                            case "title":
+                                title = readText(parser);
+                                break;
+                            case "pubDate":
+                                pubDate = readText(parser);
+                                break;
+                            case "link":
+                                link = readText(parser);
+                                break;
+                            case "description":
+                                description = readText(parser);
+                                break;
+                            case "enclosure":
+                                if (enclosureUrl == null) {
+                                    enclosureUrl = parser.getAttributeValue(null, "url");
+                                }
+                                break;
+                        }
+                    }
+                } else if (event == XmlPullParser.END_TAG && inItem && "item".equals(parser.getName())) {
+                    inItem = false;
+
+                    // An item without a link cannot be opened, and the link is its identity in the list
+                    if (!link.trim().isEmpty()) {
+                        listener.onItemParsed(new RssNewsItem(title, description, pubDate, link,
+                                extractImageUrl(enclosureUrl, description)));
+                    }
+                }
+                event = parser.next();
+            }
+        } catch (XmlPullParserException e) {
+            throw new IOException("Malformed RSS feed", e);
+        }
+    }
+
+    /**
+     * Read the text content of the current element, including CDATA sections
+     * and nested elements, leaving the parser on its END_TAG
+     */
+    private static String readText(XmlPullParser parser) throws IOException, XmlPullParserException {
+        StringBuilder text = new StringBuilder();
+        int depth = 1;
+        while (depth > 0) {
+            int event = parser.next();
+            if (event == XmlPullParser.TEXT) {
+                text.append(parser.getText());
+            } else if (event == XmlPullParser.START_TAG) {
+                depth++;
+            } else if (event == XmlPullParser.END_TAG) {
+                depth--;
+            } else if (event == XmlPullParser.END_DOCUMENT) {
+                break;
+            }
+        }
+        return text.toString().trim();
+    }
+
+    /**
+     * Prefer the enclosure URL, otherwise fall back to the first src= in the description
+     */
+    private static String extractImageUrl(String enclosureUrl, String description) {
+        if (enclosureUrl != null) {
+            return enclosureUrl;
+        }
+        if (description != null && !description.isEmpty()) {
+            Matcher matcher = IMAGE_SRC_PATTERN.matcher(description);
+            if (matcher.find()) {
+                return matcher.group(1);
+            }
+        }
+        return "";
+    }
+}
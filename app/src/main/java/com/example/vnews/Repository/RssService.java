@@ -1,109 +1,244 @@
 package com.example.vnews.Repository;
 
-import android.os.AsyncTask;
+import android.content.Context;
 import android.util.Log;
 
 import com.example.vnews.Model.RssNewsItem;
+import com.example.vnews.Utils.AppExecutors;
+import com.example.vnews.Utils.IoScheduler;
 
-import org.jsoup.Jsoup;
-import org.jsoup.nodes.Document;
-import org.jsoup.nodes.Element;
-import org.jsoup.parser.Parser;
-import org.jsoup.select.Elements;
-
-import java.io.IOException;
-import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.function.Consumer;
 
+/**
+ * Fetches RSS feeds on the visible feed lane of IoScheduler.
+ * Requests are grouped by a tag (usually one per screen): starting a new request
+ * for a tag cancels the previous one, and results are delivered once on the main thread.
+ * Feeds are persisted in FeedStore: a stored copy is shown right away and, once older
+ * than the feed's freshness TTL, revalidated in the background. Within the TTL no request
+ * is made unless a refresh is forced, and concurrent downloads of one URL are coalesced
+ * by FeedFetcher.
+ * All public methods except the TTL setters and refreshStored must be called from the main thread.
+ */
 public class RssService {
 
     private static final String TAG = "RssService";
-    
+
+    // Default time a stored feed is served without asking the network
+    public static final long DEFAULT_FRESHNESS_TTL_MS = 5 * 60 * 1000;
+
+    // Per-feed overrides of the freshness TTL
+    private static final Map<String, Long> freshnessTtls = new ConcurrentHashMap<>();
+
     public interface OnFetchDataListener {
         void onFetchDataSuccess(List<RssNewsItem> newsList);
         void onFetchDataFailure(Exception e);
+
+        /**
+         * Called with the stored copy of a stale feed while it is being revalidated.
+         * By default stored items are shown like fresh ones.
+         */
+        default void onCachedDataLoaded(List<RssNewsItem> newsList) {
+            onFetchDataSuccess(newsList);
+        }
+    }
+
+    private final FeedStore feedStore;
+
+    // Latest request per tag, only touched on the main thread
+    private final Map<String, FetchTask> activeRequests = new HashMap<>();
+
+    public RssService(Context context) {
+        feedStore = FeedStore.getInstance(context);
     }
-    
-    public void fetchNewsData(String url, OnFetchDataListener listener) {
-        new FetchRssDataTask(listener).execute(url);
+
+    /**
+     * Set how long a feed is considered fresh after it was fetched
+     *
+     * @param url Feed URL
+     * @param ttlMs Freshness window in milliseconds, 0 to always revalidate
+     */
+    public static void setFreshnessTtl(String url, long ttlMs) {
+        freshnessTtls.put(url, ttlMs);
     }
-    
-    private static class FetchRssDataTask extends AsyncTask<String, Void, List<RssNewsItem>> {
-        
-        private final OnFetchDataListener listener;
-        private Exception exception;
-        
-        FetchRssDataTask(OnFetchDataListener listener) {
-            this.listener = listener;
+
+    private static long getFreshnessTtl(String url) {
+        Long ttl = freshnessTtls.get(url);
+        return ttl != null ? ttl : DEFAULT_FRESHNESS_TTL_MS;
+    }
+
+    /**
+     * Fetch a feed, tagged by its own URL
+     */
+    public Future<List<RssNewsItem>> fetchNewsData(String url, OnFetchDataListener listener) {
+        return fetchNewsData(url, url, false, listener);
+    }
+
+    /**
+     * Fetch a feed, cancelling any older request with the same tag
+     *
+     * @param tag Groups requests whose results replace each other, e.g. one per screen
+     * @param url Feed URL
+     * @param forceRefresh Ask the network even if the feed is within its freshness window,
+     *                     e.g. on pull to refresh
+     * @param listener Called once on the main thread unless the request is cancelled
+     * @return A future that can be used to cancel the request
+     */
+    public Future<List<RssNewsItem>> fetchNewsData(String tag, String url, boolean forceRefresh,
+                                                   OnFetchDataListener listener) {
+        cancel(tag);
+
+        FetchTask task = new FetchTask(tag, url, forceRefresh, listener);
+        activeRequests.put(tag, task);
+        IoScheduler.getInstance().execute(IoScheduler.Lane.VISIBLE_FEED, task);
+        return task;
+    }
+
+    /**
+     * Cancel the pending request for a tag, its listener will not be called.
+     * A download already running is not interrupted, since other callers may share it.
+     */
+    public void cancel(String tag) {
+        FetchTask task = activeRequests.remove(tag);
+        if (task != null) {
+            task.cancel(false);
         }
-        
-        @Override
-        protected List<RssNewsItem> doInBackground(String... urls) {
-            if (urls.length == 0) return null;
-            
-            try {
-                return parseRssFeed(urls[0]);
-            } catch (IOException e) {
-                exception = e;
-                Log.e(TAG, "Error fetching RSS data", e);
-                return null;
+    }
+
+    /**
+     * Cancel every pending request, typically when the screen is destroyed
+     */
+    public void cancelAll() {
+        for (FetchTask task : activeRequests.values()) {
+            task.cancel(false);
+        }
+        activeRequests.clear();
+    }
+
+    /**
+     * Bring a stored feed up to date from a background thread, without a listener,
+     * e.g. to prefetch other tabs. A feed within its freshness TTL costs no request.
+     *
+     * @param url Feed URL
+     * @return The feed's items, stored or downloaded
+     */
+    public List<RssNewsItem> refreshStored(String url) throws Exception {
+        return loadFeed(url, false, null);
+    }
+
+    /**
+     * Stale-while-revalidate load of a feed, runs on the scheduler
+     *
+     * @param onStale Receives the stored copy of a stale feed before it is revalidated, may be null
+     */
+    private List<RssNewsItem> loadFeed(String url, boolean forceRefresh,
+                                       Consumer<List<RssNewsItem>> onStale) throws Exception {
+        FeedFetcher fetcher = FeedFetcher.getInstance();
+
+        // Memory first, then disk after a cold start
+        FeedFetcher.CachedFeed cached = fetcher.getCachedFeed(url);
+        if (cached == null) {
+            cached = feedStore.load(url);
+            if (cached != null) {
+                fetcher.restore(url, cached);
             }
         }
-        
-        @Override
-        protected void onPostExecute(List<RssNewsItem> newsList) {
-            if (exception != null) {
-                listener.onFetchDataFailure(exception);
-            } else if (newsList != null) {
-                listener.onFetchDataSuccess(newsList);
+
+        if (cached != null && !cached.getItems().isEmpty()) {
+            long age = System.currentTimeMillis() - cached.getFetchedAt();
+            if (!forceRefresh && age >= 0 && age < getFreshnessTtl(url)) {
+                return cached.getItems();
+            }
+            if (!forceRefresh && onStale != null) {
+                onStale.accept(cached.getItems());
+            }
+        }
+
+        List<RssNewsItem> items = fetcher.fetch(url);
+
+        FeedFetcher.CachedFeed fetched = fetcher.getCachedFeed(url);
+        if (fetched != null) {
+            if (cached != null && fetched.getItems() == cached.getItems()) {
+                // 304 Not Modified, only the fetch time changed
+                feedStore.touch(url, fetched);
             } else {
-                listener.onFetchDataFailure(new Exception("Unknown error occurred"));
+                feedStore.save(url, fetched);
             }
         }
-        
-        private List<RssNewsItem> parseRssFeed(String url) throws IOException {
-            List<RssNewsItem> newsList = new ArrayList<>();
-            
-            Document document = Jsoup.connect(url).parser(Parser.xmlParser()).get();
-            Elements items = document.select("item");
-            
-            for (Element item : items) {
-                RssNewsItem news = new RssNewsItem();
-                
-                // Extract basic info
-                news.setTitle(item.select("title").text());
-                news.setPubDate(item.select("pubDate").text());
-                news.setLink(item.select("link").text());
-                
-                // Extract description which contains HTML
-                String description = item.select("description").text();
-                news.setDescription(description);
-                
-                // Extract image URL from description or enclosure tag
-                String imageUrl = "";
-                
-                // First try to get from enclosure tag if exists
-                Element enclosure = item.selectFirst("enclosure");
-                if (enclosure != null && enclosure.hasAttr("url")) {
-                    imageUrl = enclosure.attr("url");
-                } 
-                // Otherwise try to parse from description which may contain image url in HTML
-                else if (description != null && !description.isEmpty()) {
-                    // Look for image URL pattern in the description
-                    Pattern pattern = Pattern.compile("src=\"(.*?)\"");
-                    Matcher matcher = pattern.matcher(description);
-                    if (matcher.find()) {
-                        imageUrl = matcher.group(1);
-                    }
+        return items;
+    }
+
+    private class FetchTask extends FutureTask<List<RssNewsItem>> {
+
+        private final String tag;
+        private final OnFetchDataListener listener;
+
+        FetchTask(String tag, String url, boolean forceRefresh, OnFetchDataListener listener) {
+            this(tag, listener, new LoadCall(url, forceRefresh));
+        }
+
+        private FetchTask(String tag, OnFetchDataListener listener, LoadCall call) {
+            super(call);
+            this.tag = tag;
+            this.listener = listener;
+            call.task = this;
+        }
+
+        // Show the stored copy while the network request is still running
+        void postCached(List<RssNewsItem> items) {
+            AppExecutors.getInstance().mainThread().execute(() -> {
+                if (!isCancelled() && activeRequests.get(tag) == this) {
+                    listener.onCachedDataLoaded(items);
                 }
-                
-                news.setImageUrl(imageUrl);
-                newsList.add(news);
+            });
+        }
+
+        @Override
+        protected void done() {
+            AppExecutors.getInstance().mainThread().execute(this::deliver);
+        }
+
+        private void deliver() {
+            // Drop results of cancelled or superseded requests
+            if (isCancelled() || activeRequests.get(tag) != this) {
+                return;
+            }
+            activeRequests.remove(tag);
+
+            try {
+                listener.onFetchDataSuccess(get());
+            } catch (ExecutionException e) {
+                Log.e(TAG, "Error fetching RSS data", e.getCause());
+                Throwable cause = e.getCause();
+                listener.onFetchDataFailure(cause instanceof Exception
+                        ? (Exception) cause : new Exception("Unknown error occurred", cause));
+            } catch (InterruptedException e) {
+                listener.onFetchDataFailure(e);
             }
-            
-            return newsList;
         }
     }
-} 
\ No newline at end of file
+
+    private class LoadCall implements Callable<List<RssNewsItem>> {
+
+        private final String url;
+        private final boolean forceRefresh;
+        private FetchTask task;
+
+        LoadCall(String url, boolean forceRefresh) {
+            this.url = url;
+            this.forceRefresh = forceRefresh;
+        }
+
+        @Override
+        public List<RssNewsItem> call() throws Exception {
+            return loadFeed(url, forceRefresh, task::postCached);
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.vnews.Repository;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.util.Log;
+
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.ListenerRegistration;
+import com.google.firebase.firestore.Query;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * In-memory set of the article ids the current user has saved, so checking a bookmark
+ * costs no Firestore read. The set is persisted to SharedPreferences, answering right after
+ * a cold start, and kept current by a single snapshot listener on the user's saved articles,
+ * which also reports the app's own saves and unsaves as soon as they are written.
+ */
+public class SavedArticlesIndex {
+
+    private static final String TAG = "SavedArticlesIndex";
+    private static final String PREFS_NAME = "SavedArticlesIndex";
+    private static final String KEY_USER_ID = "userId";
+    private static final String KEY_ARTICLE_IDS = "articleIds";
+    // Users whose old saved_articles documents were moved, kept across logouts
+    private static final String KEY_MIGRATED_USERS = "migratedUsers";
+
+    // Singleton instance
+    private static volatile SavedArticlesIndex instance;
+
+    private final SharedPreferences prefs;
+
+    // User the ids belong to, null when nobody is indexed or a new user's first snapshot is pending
+    private volatile String userId;
+
+    // Replaced as a whole on every change, read from any thread
+    private volatile Set<String> articleIds;
+
+    private ListenerRegistration registration;
+
+    // User the listener was registered for, set before its first snapshot arrives
+    private String listeningUserId;
+
+    private SavedArticlesIndex(Context context) {
+        prefs = context.getApplicationContext().getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+        userId = prefs.getString(KEY_USER_ID, null);
+        articleIds = Collections.unmodifiableSet(
+                new HashSet<>(prefs.getStringSet(KEY_ARTICLE_IDS, Collections.emptySet())));
+    }
+
+    // Get singleton instance
+    public static SavedArticlesIndex getInstance(Context context) {
+        if (instance == null) {
+            synchronized (SavedArticlesIndex.class) {
+                if (instance == null) {
+                    instance = new SavedArticlesIndex(context);
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Keep the index current for a user. Does nothing if that user is already listened to.
+     * Called from the main thread.
+     *
+     * @param userId The signed-in user
+     * @param savedArticles The user's saved-article documents, keyed by article id
+     */
+    public synchronized void start(String userId, Query savedArticles) {
+        if (registration != null && userId.equals(listeningUserId)) {
+            return;
+        }
+        stopListening();
+
+        // The persisted ids of another user are never shown to this one,
+        // the index is not ready for the new user until the first snapshot arrives
+        if (!userId.equals(this.userId)) {
+            this.userId = null;
+            articleIds = Collections.emptySet();
+        }
+
+        listeningUserId = userId;
+        registration = savedArticles.addSnapshotListener((snapshots, e) -> {
+            if (e != null || snapshots == null) {
+                // Keep the last known ids, the listener stops after an error and is restarted on next use
+                Log.e(TAG, "Saved articles listener failed", e);
+                synchronized (SavedArticlesIndex.this) {
+                    stopListening();
+                }
+                return;
+            }
+            Set<String> ids = new HashSet<>();
+            for (DocumentSnapshot document : snapshots.getDocuments()) {
+                ids.add(document.getId());
+            }
+            update(userId, ids);
+        });
+    }
+
+    /**
+     * Stop listening and forget the ids, on logout
+     */
+    public synchronized void stop() {
+        stopListening();
+        userId = null;
+        articleIds = Collections.emptySet();
+        prefs.edit().remove(KEY_USER_ID).remove(KEY_ARTICLE_IDS).apply();
+    }
+
+    /**
+     * Whether a user's saved articles were already moved to the per-user layout
+     */
+    public boolean isMigrated(String userId) {
+        return prefs.getStringSet(KEY_MIGRATED_USERS, Collections.emptySet()).contains(userId);
+    }
+
+    /**
+     * Remember that a user's saved articles were moved, so the old collection is never queried again
+     */
+    public synchronized void setMigrated(String userId) {
+        Set<String> users = new HashSet<>(prefs.getStringSet(KEY_MIGRATED_USERS, Collections.emptySet()));
+        if (users.add(userId)) {
+            prefs.edit().putStringSet(KEY_MIGRATED_USERS, users).apply();
+        }
+    }
+
+    /**
+     * Whether the index holds the ids of a user, from the listener or from the last session
+     */
+    public boolean isReadyFor(String userId) {
+        return userId != null && userId.equals(this.userId);
+    }
+
+    /**
+     * Whether the current user has saved an article, without any read
+     */
+    public boolean contains(String articleId) {
+        return articleIds.contains(articleId);
+    }
+
+    /**
+     * The saved article ids, a snapshot that is not updated later
+     */
+    public Set<String> getArticleIds() {
+        return articleIds;
+    }
+
+    private void stopListening() {
+        if (registration != null) {
+            registration.remove();
+            registration = null;
+        }
+        listeningUserId = null;
+    }
+
+    private void update(String userId, Set<String> ids) {
+        if (userId.equals(this.userId) && ids.equals(articleIds)) {
+            return;
+        }
+        this.userId = userId;
+        articleIds = Collections.unmodifiableSet(ids);
+        prefs.edit()
+                .putString(KEY_USER_ID, userId)
+                .putStringSet(KEY_ARTICLE_IDS, new HashSet<>(ids))
+                .apply();
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.vnews.Utils;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import java.util.concurrent.Executor;
+
+/**
+ * App-wide executors shared by every screen.
+ * Background work goes through IoScheduler, which bounds threads and orders work by priority.
+ */
+public class AppExecutors {
+
+    // Singleton instance
+    private static volatile AppExecutors instance;
+
+    private final Executor mainThread;
+
+    private AppExecutors() {
+        Handler mainHandler = new Handler(Looper.getMainLooper());
+        mainThread = mainHandler::post;
+    }
+
+    // Get singleton instance
+    public static AppExecutors getInstance() {
+        if (instance == null) {
+            synchronized (AppExecutors.class) {
+                if (instance == null) {
+                    instance = new AppExecutors();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Posts work to the main thread
+     */
+    public Executor mainThread() {
+        return mainThread;
+    }
+}
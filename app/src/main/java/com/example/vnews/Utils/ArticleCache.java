@@ -0,0 +1,204 @@
+package com.example.vnews.Utils;
+
+import android.content.Context;
+import android.util.Log;
+
+import com.example.vnews.Model.ArticleBlock;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Size-bounded on-disk cache of extracted article blocks, keyed by article URL.
+ * Entries are gzip-compressed, expire after a TTL and are evicted least recently used first.
+ * Every method does disk I/O and must be called off the main thread.
+ */
+public class ArticleCache {
+
+    private static final String TAG = "ArticleCache";
+    private static final String CACHE_DIR = "articles";
+
+    // Layout of an entry, entries written in another layout are treated as missing
+    private static final int FORMAT_VERSION = 2;
+
+    // Total size of the compressed entries
+    private static final long MAX_SIZE_BYTES = 10 * 1024 * 1024;
+
+    // Time after which a cached article is fetched again
+    private static final long TTL_MS = 24 * 60 * 60 * 1000;
+
+    // Singleton instance
+    private static volatile ArticleCache instance;
+
+    private final File directory;
+
+    private ArticleCache(Context context) {
+        directory = new File(context.getApplicationContext().getCacheDir(), CACHE_DIR);
+    }
+
+    // Get singleton instance
+    public static ArticleCache getInstance(Context context) {
+        if (instance == null) {
+            synchronized (ArticleCache.class) {
+                if (instance == null) {
+                    instance = new ArticleCache(context);
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Get the cached blocks of an article
+     *
+     * @param url Article URL
+     * @return The blocks, or null if they are not cached or have expired
+     */
+    public synchronized List<ArticleBlock> get(String url) {
+        File file = fileFor(url);
+        if (!file.exists()) {
+            return null;
+        }
+
+        try (DataInputStream in = new DataInputStream(
+                new GZIPInputStream(new BufferedInputStream(new FileInputStream(file))))) {
+            long savedAt = in.readLong();
+            if (System.currentTimeMillis() - savedAt > TTL_MS) {
+                file.delete();
+                return null;
+            }
+
+            if (in.readInt() != FORMAT_VERSION) {
+                file.delete();
+                return null;
+            }
+
+            int count = in.readInt();
+            List<ArticleBlock> blocks = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                blocks.add(ArticleBlock.readFrom(in));
+            }
+
+            // Last modified time doubles as the access time for LRU eviction
+            file.setLastModified(System.currentTimeMillis());
+            return blocks;
+        } catch (IOException e) {
+            Log.w(TAG, "Dropping unreadable cache entry for " + url, e);
+            file.delete();
+            return null;
+        }
+    }
+
+    /**
+     * Whether an unexpired copy of an article is cached in the current format,
+     * reading only the entry header. Entries get would drop are deleted here as well.
+     */
+    public synchronized boolean contains(String url) {
+        File file = fileFor(url);
+        if (!file.exists()) {
+            return false;
+        }
+
+        boolean usable;
+        try (DataInputStream in = new DataInputStream(
+                new GZIPInputStream(new BufferedInputStream(new FileInputStream(file))))) {
+            usable = System.currentTimeMillis() - in.readLong() <= TTL_MS
+                    && in.readInt() == FORMAT_VERSION;
+        } catch (IOException e) {
+            usable = false;
+        }
+        if (!usable) {
+            file.delete();
+        }
+        return usable;
+    }
+
+    /**
+     * Store the blocks of an article, evicting the least recently used entries if needed
+     */
+    public synchronized void put(String url, List<ArticleBlock> blocks) {
+        if (!directory.exists() && !directory.mkdirs()) {
+            Log.w(TAG, "Cannot create cache directory");
+            return;
+        }
+
+        File file = fileFor(url);
+        File tempFile = new File(directory, file.getName() + ".tmp");
+
+        try (DataOutputStream out = new DataOutputStream(
+                new GZIPOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile))))) {
+            out.writeLong(System.currentTimeMillis());
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(blocks.size());
+            for (ArticleBlock block : blocks) {
+                block.writeTo(out);
+            }
+        } catch (IOException e) {
+            Log.w(TAG, "Error caching article " + url, e);
+            tempFile.delete();
+            return;
+        }
+
+        if (!tempFile.renameTo(file)) {
+            tempFile.delete();
+            return;
+        }
+        trimToSize();
+    }
+
+    /**
+     * Delete least recently used entries until the cache fits in its size budget
+     */
+    private void trimToSize() {
+        File[] files = directory.listFiles();
+        if (files == null) return;
+
+        long totalSize = 0;
+        for (File file : files) {
+            totalSize += file.length();
+        }
+        if (totalSize <= MAX_SIZE_BYTES) return;
+
+        Arrays.sort(files, Comparator.comparingLong(File::lastModified));
+        for (File file : files) {
+            if (totalSize <= MAX_SIZE_BYTES) break;
+            long size = file.length();
+            if (file.delete()) {
+                totalSize -= size;
+            }
+        }
+    }
+
+    private File fileFor(String url) {
+        return new File(directory, hash(url));
+    }
+
+    private static String hash(String url) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1").digest(url.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-1 is always available on Android
+            return Integer.toHexString(url.hashCode());
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.example.vnews.Utils;
+
+import android.content.Context;
+import android.net.ConnectivityManager;
+import android.os.BatteryManager;
+import android.os.PowerManager;
+import android.util.Log;
+
+import com.example.vnews.Model.RssNewsItem;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Scrapes and caches the bodies of the articles the user is most likely to open next,
+ * so opening them from the feed is served from ArticleCache without waiting on the network.
+ * Only runs on unmetered networks with enough battery, within a per-session budget of page bytes read.
+ * Each article is its own background job on IoScheduler.
+ */
+public class ArticlePrefetcher {
+
+    private static final String TAG = "ArticlePrefetcher";
+
+    // Maximum number of articles prefetched per request
+    private static final int MAX_ARTICLES = 5;
+
+    // Page bytes prefetching may read while the process lives. Counted after gzip decoding and
+    // only up to the end of the article region, so it bounds parsing work rather than the exact
+    // network transfer, which is smaller for compressed responses
+    private static final long SESSION_PAGE_BYTE_BUDGET = 5 * 1024 * 1024;
+
+    // Battery level (percent) under which prefetching stops unless charging
+    private static final int MIN_BATTERY_PERCENT = 20;
+
+    // Singleton instance
+    private static volatile ArticlePrefetcher instance;
+
+    private final Context appContext;
+
+    private final AtomicLong pageBytesRead = new AtomicLong();
+
+    // Articles queued or being downloaded, across batches
+    private final Set<String> inProgress = Collections.newSetFromMap(new ConcurrentHashMap<>());
+
+    // Jobs of the current batch by article URL
+    private final Map<String, Future<?>> workers = new HashMap<>();
+
+    // Cancellation flag of the current batch
+    private AtomicBoolean batchCancelled;
+
+    private ArticlePrefetcher(Context context) {
+        appContext = context.getApplicationContext();
+    }
+
+    // Get singleton instance
+    public static ArticlePrefetcher getInstance(Context context) {
+        if (instance == null) {
+            synchronized (ArticlePrefetcher.class) {
+                if (instance == null) {
+                    instance = new ArticlePrefetcher(context);
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Prefetch the first articles of a list, replacing any prefetch in progress
+     *
+     * @param items Articles in the order they should be fetched, e.g. featured then visible rows
+     */
+    public synchronized void prefetch(List<RssNewsItem> items) {
+        cancel();
+
+        if (pageBytesRead.get() >= SESSION_PAGE_BYTE_BUDGET || !isAllowed()) {
+            return;
+        }
+
+        List<String> urls = new ArrayList<>();
+        for (RssNewsItem item : items) {
+            if (urls.size() >= MAX_ARTICLES) break;
+            String url = item.getLink();
+            if (url != null && !url.isEmpty() && !urls.contains(url) && !inProgress.contains(url)) {
+                urls.add(url);
+            }
+        }
+        if (urls.isEmpty()) {
+            return;
+        }
+
+        AtomicBoolean cancelled = new AtomicBoolean(false);
+        batchCancelled = cancelled;
+        inProgress.addAll(urls);
+        for (String url : urls) {
+            PrefetchJob job = new PrefetchJob(url, cancelled);
+            workers.put(url, job);
+            IoScheduler.getInstance().execute(IoScheduler.Lane.BACKGROUND_PREFETCH, job);
+        }
+    }
+
+    /**
+     * Stop the prefetch in progress, e.g. when the app goes to the background.
+     * An article already downloading finishes and is cached.
+     */
+    public synchronized void cancel() {
+        if (batchCancelled != null) {
+            batchCancelled.set(true);
+            batchCancelled = null;
+        }
+        for (Future<?> worker : workers.values()) {
+            worker.cancel(false);
+        }
+        workers.clear();
+    }
+
+    private void prefetchArticle(String url, AtomicBoolean cancelled) {
+        if (cancelled.get() || pageBytesRead.get() >= SESSION_PAGE_BYTE_BUDGET || !isAllowed()) {
+            return;
+        }
+        try {
+            long bytes = ArticleScraper.prefetchArticle(appContext, url);
+            pageBytesRead.addAndGet(bytes);
+            Log.d(TAG, "Prefetched article (" + bytes + " page bytes): " + url);
+        } catch (IOException e) {
+            Log.w(TAG, "Error prefetching article: " + url, e);
+        }
+    }
+
+    /**
+     * Prefetch of one article. Its URL leaves inProgress once the job is over, whether it ran,
+     * failed or was cancelled while still queued, so a cancelled batch never blocks the URL.
+     */
+    private class PrefetchJob extends FutureTask<Void> {
+        private final String url;
+
+        // Set once the download started, a job cancelled while running keeps its URL until it ends
+        private final AtomicBoolean started;
+
+        PrefetchJob(String url, AtomicBoolean cancelled) {
+            this(url, cancelled, new AtomicBoolean());
+        }
+
+        private PrefetchJob(String url, AtomicBoolean cancelled, AtomicBoolean started) {
+            super(() -> {
+                started.set(true);
+                try {
+                    prefetchArticle(url, cancelled);
+                } finally {
+                    inProgress.remove(url);
+                }
+            }, null);
+            this.url = url;
+            this.started = started;
+        }
+
+        @Override
+        protected void done() {
+            if (!started.get()) {
+                inProgress.remove(url);
+            }
+        }
+    }
+
+    /**
+     * Whether the device is on an unmetered network, not in power save mode
+     * and either charging or above the minimum battery level
+     */
+    private boolean isAllowed() {
+        ConnectivityManager connectivityManager = appContext.getSystemService(ConnectivityManager.class);
+        if (connectivityManager == null || connectivityManager.getActiveNetwork() == null
+                || connectivityManager.isActiveNetworkMetered()) {
+            return false;
+        }
+
+        PowerManager powerManager = appContext.getSystemService(PowerManager.class);
+        if (powerManager != null && powerManager.isPowerSaveMode()) {
+            return false;
+        }
+
+        BatteryManager batteryManager = appContext.getSystemService(BatteryManager.class);
+        if (batteryManager == null) {
+            return true;
+        }
+        return batteryManager.isCharging()
+                || batteryManager.getIntProperty(BatteryManager.BATTERY_PROPERTY_CAPACITY) >= MIN_BATTERY_PERCENT;
+    }
+}
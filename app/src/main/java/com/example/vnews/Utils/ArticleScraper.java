@@ -1,136 +1,296 @@
 package com.example.vnews.Utils;
 
+import android.content.Context;
 import android.util.Log;
 
+import com.example.vnews.Model.ArticleBlock;
+
+import org.jsoup.Connection;
 import org.jsoup.Jsoup;
-import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
 import org.jsoup.select.Elements;
 
+import java.io.FilterInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
- * Utility class for scraping article content from VnExpress
+ * Utility class for scraping article content into ArticleBlocks,
+ * using the ExtractionRule of the article's host (VnExpress by default)
  */
 public class ArticleScraper {
     
     private static final String TAG = "ArticleScraper";
     
+    // Messages shown in place of the article when it cannot be extracted
+    private static final String NO_CONTENT_MESSAGE = "Không thể trích xuất nội dung bài viết. Vui lòng nhấn nút 'Đọc bài đầy đủ' để đọc trên VnExpress.";
+    private static final String NETWORK_ERROR_MESSAGE = "Không thể tải nội dung bài viết. Vui lòng kiểm tra lại kết nối mạng hoặc nhấn nút 'Đọc bài đầy đủ' để đọc trên VnExpress.";
+    private static final String PARSE_ERROR_MESSAGE = "Đã xảy ra lỗi khi phân tích nội dung bài viết. Vui lòng nhấn nút 'Đọc bài đầy đủ' để đọc trên VnExpress.";
+    
+    // Charset used when the response does not declare one, VnExpress pages are UTF-8
+    private static final String DEFAULT_CHARSET = "UTF-8";
+    
+    /**
+     * Callback receiving the content of an article on the main thread
+     */
+    public interface OnContentLoadedListener {
+        void onContentLoaded(List<ArticleBlock> blocks);
+    }
+    
     /**
-     * Get full article content from a VnExpress URL
+     * Load an article the user is waiting on, ahead of feed refreshes and prefetching
      * 
+     * @param context Context used to reach the article cache
      * @param url VnExpress article URL
-     * @return HTML formatted content of the article
+     * @param listener Called on the main thread unless the returned future is cancelled
+     * @return A future that can be used to cancel the load
      */
-    public static String getArticleContent(String url) {
+    public static Future<?> loadArticleContent(Context context, String url, OnContentLoadedListener listener) {
+        Context appContext = context.getApplicationContext();
+        FutureTask<List<ArticleBlock>> task = new FutureTask<List<ArticleBlock>>(
+                () -> getArticleContent(appContext, url)) {
+            @Override
+            protected void done() {
+                AppExecutors.getInstance().mainThread().execute(() -> {
+                    if (isCancelled()) {
+                        return;
+                    }
+                    try {
+                        listener.onContentLoaded(get());
+                    } catch (ExecutionException | InterruptedException e) {
+                        Log.e(TAG, "Error loading article content", e);
+                        listener.onContentLoaded(message(PARSE_ERROR_MESSAGE));
+                    }
+                });
+            }
+        };
+        IoScheduler.getInstance().execute(IoScheduler.Lane.FOREGROUND_ARTICLE, task);
+        return task;
+    }
+    
+    /**
+     * Get full article content, from the on-disk cache when the article was read recently
+     * 
+     * @param context Context used to reach the article cache
+     * @param url VnExpress article URL
+     * @return Blocks of the article, or a single paragraph explaining why it could not be loaded
+     */
+    public static List<ArticleBlock> getArticleContent(Context context, String url) {
+        ArticleCache cache = ArticleCache.getInstance(context);
+        List<ArticleBlock> cached = cache.get(url);
+        if (cached != null) {
+            Log.d(TAG, "Article content served from cache: " + url);
+            return cached;
+        }
+        
         try {
-            Log.d(TAG, "Fetching article content from: " + url);
-            Document doc = Jsoup.connect(url)
-                    .userAgent("Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/91.0.4472.124 Safari/537.36")
-                    .timeout(10000)
-                    .get();
-
-            // Get article title for debugging
-            Element titleElement = doc.selectFirst("h1.title-detail");
-            String title = titleElement != null ? titleElement.text() : "";
-            Log.d(TAG, "Article title: " + title);
-
-            // Try different selectors for article content based on VnExpress layout patterns
-            Elements contentElements = doc.select("article.fck_detail > *");
-            
-            if (contentElements.isEmpty()) {
-                // Try alternative selector structures
-                contentElements = doc.select("div.fck_detail > *");
+            List<ArticleBlock> content = scrapeArticle(url);
+            if (content == null) {
+                return message(NO_CONTENT_MESSAGE);
             }
+            // Only successfully extracted articles are cached, never error messages
+            cache.put(url, content);
+            return content;
+        } catch (IOException e) {
+            Log.e(TAG, "Error fetching article content", e);
+            return message(NETWORK_ERROR_MESSAGE);
+        } catch (Exception e) {
+            Log.e(TAG, "Unexpected error while parsing article content", e);
+            return message(PARSE_ERROR_MESSAGE);
+        }
+    }
+    
+    private static List<ArticleBlock> message(String text) {
+        return Collections.singletonList(ArticleBlock.paragraph(text));
+    }
+    
+    /**
+     * Download, extract and cache an article ahead of time, unless it is already cached
+     * 
+     * @param context Context used to reach the article cache
+     * @param url VnExpress article URL
+     * @return Number of decoded page bytes read, 0 if the article was already cached
+     */
+    public static long prefetchArticle(Context context, String url) throws IOException {
+        ArticleCache cache = ArticleCache.getInstance(context);
+        if (cache.contains(url)) {
+            return 0;
+        }
+        
+        AtomicLong bytesRead = new AtomicLong();
+        List<ArticleBlock> content = scrapeArticle(url, bytesRead);
+        if (content != null) {
+            cache.put(url, content);
+        }
+        return bytesRead.get();
+    }
+    
+    private static List<ArticleBlock> scrapeArticle(String url) throws IOException {
+        return scrapeArticle(url, new AtomicLong());
+    }
+    
+    /**
+     * Download and extract the article body.
+     * The page is streamed and only the article body region is parsed; the download stops
+     * once that region closes. Pages without a known region fall back to a full parse.
+     * 
+     * @param url VnExpress article URL
+     * @param bytesRead Incremented by the number of decoded page bytes read
+     * @return Blocks of the article, or null if no content could be extracted
+     */
+    private static List<ArticleBlock> scrapeArticle(String url, AtomicLong bytesRead) throws IOException {
+        Log.d(TAG, "Fetching article content from: " + url);
+        ExtractionRule rule = ExtractionRules.forUrl(url);
+        Connection.Response response = connect(url).execute();
+        String charset = response.charset() != null ? response.charset() : DEFAULT_CHARSET;
+        
+        CountingInputStream body = new CountingInputStream(response.bodyStream());
+        try (Reader reader = new InputStreamReader(body, charset)) {
+            return extract(reader, url, rule);
+        } finally {
+            bytesRead.addAndGet(body.getCount());
+        }
+    }
+    
+    /**
+     * Extract the article body from a page being read
+     * 
+     * @param reader The decoded page, only read up to the end of the article body region
+     * @param url Page URL, base of relative links
+     * @param rule Extraction rule of the page's host
+     * @return Blocks of the article, or null if no content could be extracted
+     */
+    static List<ArticleBlock> extract(Reader reader, String url, ExtractionRule rule) throws IOException {
+        HtmlRegionScanner.Result result = HtmlRegionScanner.scan(reader, rule.getRegions());
+        if (result.getRegion() == null) {
+            Log.d(TAG, "No article region found while streaming, parsing the whole page");
+            return toBlocks(rule, rule.selectContent(Jsoup.parse(result.getHtml(), url)));
+        }
+        
+        Element region = Jsoup.parseBodyFragment(result.getHtml(), url).body().children().first();
+        if (region == null) {
+            return null;
+        }
+        return toBlocks(rule, rule.selectRegionContent(region, result.getRegion()));
+    }
+    
+    private static Connection connect(String url) {
+        return Jsoup.connect(url)
+                .userAgent("Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/91.0.4472.124 Safari/537.36")
+                .timeout(10000);
+    }
+    
+    /**
+     * Convert the content elements of an article to blocks
+     * 
+     * @param rule Extraction rule of the article's host
+     * @param contentElements Direct children of the article body
+     * @return Blocks of the article, or null if no content could be extracted
+     */
+    private static List<ArticleBlock> toBlocks(ExtractionRule rule, Elements contentElements) {
+        Log.d(TAG, "Found " + contentElements.size() + " content elements");
+
+        List<ArticleBlock> content = new ArrayList<>();
+        
+        for (Element el : contentElements) {
+            String tagName = el.tagName().toLowerCase();
             
-            if (contentElements.isEmpty()) {
-                // Try more generic selectors
-                contentElements = doc.select(".content-detail > p, .content-detail > figure");
+            // Skip related news sections
+            if (rule.isSkipped(el)) {
+                continue;
             }
             
-            Log.d(TAG, "Found " + contentElements.size() + " content elements");
-
-            StringBuilder content = new StringBuilder();
-            
-            for (Element el : contentElements) {
-                String tagName = el.tagName().toLowerCase();
-                
-                // Skip related news sections
-                if (el.hasClass("box-relate") || el.hasClass("box-topping") || 
-                    el.hasClass("related-news") || el.hasClass("social-box")) {
-                    continue;
-                }
-                
-                switch (tagName) {
-                    case "p":
-                        // Process paragraphs
-                        content.append("<p>").append(el.html()).append("</p>");
-                        break;
-                        
-                    case "figure":
-                        // Process images
-                        Element img = el.selectFirst("img[data-src]");
-                        if (img == null) {
-                            img = el.selectFirst("img[src]");
-                        }
-                        
-                        if (img != null) {
-                            String imgSrc = img.hasAttr("data-src") ? img.attr("data-src") : img.attr("src");
-                            
-                            // Make sure URL is absolute
-                            if (imgSrc.startsWith("//")) {
-                                imgSrc = "https:" + imgSrc;
-                            }
-                            
-                            content.append("<img src=\"").append(imgSrc).append("\" />");
-                            
-                            // Add image caption if available
-                            Element figCaption = el.selectFirst("figcaption");
-                            if (figCaption != null && !figCaption.text().isEmpty()) {
-                                content.append("<div style=\"color:#666;font-style:italic;text-align:center;margin-bottom:12px;font-size:14px;\">")
-                                      .append(figCaption.text())
-                                      .append("</div>");
-                            }
+            switch (tagName) {
+                case "p":
+                    // Process paragraphs, inline markup is kept for text spans
+                    if (el.hasText()) {
+                        content.add(ArticleBlock.paragraph(el.html()));
+                    }
+                    break;
+                    
+                case "figure":
+                    // Process images
+                    String imgSrc = rule.imageUrl(el);
+                    if (imgSrc != null) {
+                        // Add image caption if available
+                        Element figCaption = el.getElementsByTag("figcaption").first();
+                        content.add(ArticleBlock.image(imgSrc, figCaption != null ? figCaption.text() : ""));
+                    }
+                    break;
+                    
+                case "table":
+                    // Process tables, rendered by a WebView
+                    content.add(ArticleBlock.table(el.outerHtml()));
+                    break;
+                    
+                case "h2":
+                case "h3":
+                    // Process headings
+                    content.add(ArticleBlock.heading(el.text(), "h2".equals(tagName) ? 2 : 3));
+                    break;
+                    
+                case "ul":
+                case "ol":
+                    // Process lists
+                    List<String> items = new ArrayList<>();
+                    for (Element li : el.children()) {
+                        if ("li".equals(li.tagName()) && li.hasText()) {
+                            items.add(li.html());
                         }
-                        break;
-                        
-                    case "table":
-                        // Process tables
-                        content.append(el.outerHtml());
-                        break;
-                        
-                    case "h2":
-                    case "h3":
-                        // Process headings
-                        content.append("<").append(tagName).append(">")
-                               .append(el.text())
-                               .append("</").append(tagName).append(">");
-                        break;
-                        
-                    case "ul":
-                    case "ol":
-                        // Process lists
-                        content.append(el.outerHtml());
-                        break;
-                }
-            }
-
-            // Add fallback message if no content was scraped
-            String result = content.toString();
-            if (result.isEmpty()) {
-                Log.e(TAG, "No content extracted from article");
-                return "<p>Không thể trích xuất nội dung bài viết. Vui lòng nhấn nút 'Đọc bài đầy đủ' để đọc trên VnExpress.</p>";
+                    }
+                    if (!items.isEmpty()) {
+                        content.add(ArticleBlock.list(items, "ol".equals(tagName)));
+                    }
+                    break;
             }
-            
-            Log.d(TAG, "Successfully scraped article content");
-            return result;
+        }
 
-        } catch (IOException e) {
-            Log.e(TAG, "Error fetching article content", e);
-            return "<p>Không thể tải nội dung bài viết. Vui lòng kiểm tra lại kết nối mạng hoặc nhấn nút 'Đọc bài đầy đủ' để đọc trên VnExpress.</p>";
-        } catch (Exception e) {
-            Log.e(TAG, "Unexpected error while parsing article content", e);
-            return "<p>Đã xảy ra lỗi khi phân tích nội dung bài viết. Vui lòng nhấn nút 'Đọc bài đầy đủ' để đọc trên VnExpress.</p>";
+        // Report missing content so the caller can show a fallback message
+        if (content.isEmpty()) {
+            Log.e(TAG, "No content extracted from article");
+            return null;
+        }
+        
+        Log.d(TAG, "Successfully scraped " + content.size() + " article blocks");
+        return content;
+    }
+    
+    /**
+     * Counts the bytes read from the response body, after jsoup's gzip decoding, so this is the
+     * size of the page read rather than of the transfer
+     */
+    private static class CountingInputStream extends FilterInputStream {
+        private long count;
+        
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+        
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) count++;
+            return b;
+        }
+        
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) count += n;
+            return n;
+        }
+        
+        long getCount() {
+            return count;
         }
     }
-} 
\ No newline at end of file
+}
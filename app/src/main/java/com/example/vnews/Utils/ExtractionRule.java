@@ -0,0 +1,204 @@
+package com.example.vnews.Utils;
+
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.select.Elements;
+import org.jsoup.select.Evaluator;
+import org.jsoup.select.QueryParser;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * How to find the article body on the pages of one outlet: content containers tried in order,
+ * elements to skip and image attributes. Selectors are compiled once when the rule is built,
+ * so extraction never parses a CSS query. Rules are looked up by host in ExtractionRules.
+ */
+public class ExtractionRule {
+
+    /**
+     * A content container, found by tag and class, and the children kept from it
+     */
+    public static class Content {
+        private final Evaluator container;
+        private final Evaluator children;
+        private final HtmlRegionScanner.Region region;
+
+        private Content(String tagName, String className, String childrenQuery) {
+            this.container = QueryParser.parse((tagName != null ? tagName : "") + "." + className);
+            this.children = childrenQuery != null ? QueryParser.parse(childrenQuery) : null;
+            this.region = new HtmlRegionScanner.Region(tagName, className);
+        }
+
+        // Children of the containers that hold article content
+        Elements select(Elements containers) {
+            Elements elements = new Elements();
+            for (Element container : containers) {
+                for (Element child : container.children()) {
+                    if (children == null || child.is(children)) {
+                        elements.add(child);
+                    }
+                }
+            }
+            return elements;
+        }
+    }
+
+    private final String name;
+    private final List<String> hosts;
+    private final List<Content> contents;
+    private final List<HtmlRegionScanner.Region> regions;
+    private final Evaluator skip;
+    private final List<String> imageAttributes;
+    private final List<Evaluator> imageSelectors;
+
+    private ExtractionRule(Builder builder) {
+        this.name = builder.name;
+        this.hosts = Collections.unmodifiableList(new ArrayList<>(builder.hosts));
+        this.contents = Collections.unmodifiableList(new ArrayList<>(builder.contents));
+        List<HtmlRegionScanner.Region> regions = new ArrayList<>();
+        for (Content content : contents) {
+            regions.add(content.region);
+        }
+        this.regions = Collections.unmodifiableList(regions);
+        this.skip = builder.skipQuery != null ? QueryParser.parse(builder.skipQuery) : null;
+        this.imageAttributes = Collections.unmodifiableList(new ArrayList<>(builder.imageAttributes));
+        List<Evaluator> imageSelectors = new ArrayList<>();
+        for (String attribute : imageAttributes) {
+            imageSelectors.add(QueryParser.parse("img[" + attribute + "]"));
+        }
+        this.imageSelectors = Collections.unmodifiableList(imageSelectors);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public List<String> getHosts() {
+        return hosts;
+    }
+
+    /**
+     * Whether the rule applies to a host, subdomains included
+     */
+    public boolean matchesHost(String host) {
+        for (String ruleHost : hosts) {
+            if (host.equals(ruleHost) || host.endsWith("." + ruleHost)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Regions cut out of the page by HtmlRegionScanner, one per content container
+     */
+    public List<HtmlRegionScanner.Region> getRegions() {
+        return regions;
+    }
+
+    /**
+     * Content elements of a fully parsed page, from the first container that has any
+     */
+    public Elements selectContent(Document doc) {
+        for (Content content : contents) {
+            Elements elements = content.select(doc.select(content.container));
+            if (!elements.isEmpty()) {
+                return elements;
+            }
+        }
+        return new Elements();
+    }
+
+    /**
+     * Content elements of a container cut out of the page by HtmlRegionScanner
+     *
+     * @param region The container element
+     * @param match The region that matched, one of getRegions()
+     */
+    public Elements selectRegionContent(Element region, HtmlRegionScanner.Region match) {
+        for (Content content : contents) {
+            if (content.region == match) {
+                return content.select(new Elements(region));
+            }
+        }
+        return new Elements();
+    }
+
+    /**
+     * Whether an element is page furniture (related news, share boxes...) rather than content
+     */
+    public boolean isSkipped(Element element) {
+        return skip != null && element.is(skip);
+    }
+
+    /**
+     * URL of the image inside an element, from the first image attribute present, or null
+     */
+    public String imageUrl(Element element) {
+        for (int i = 0; i < imageSelectors.size(); i++) {
+            Element img = element.selectFirst(imageSelectors.get(i));
+            if (img != null) {
+                String url = img.attr(imageAttributes.get(i));
+                // Make sure URL is absolute
+                return url.startsWith("//") ? "https:" + url : url;
+            }
+        }
+        return null;
+    }
+
+    public static class Builder {
+        private final String name;
+        private final List<String> hosts = new ArrayList<>();
+        private final List<Content> contents = new ArrayList<>();
+        private String skipQuery;
+        private final List<String> imageAttributes = new ArrayList<>();
+
+        public Builder(String name) {
+            this.name = name;
+        }
+
+        // Host the rule applies to, its subdomains included
+        public Builder host(String host) {
+            hosts.add(host);
+            return this;
+        }
+
+        /**
+         * Add a content container, containers are tried in the order they are added
+         *
+         * @param tagName Tag of the container, or null for any tag
+         * @param className Class of the container
+         */
+        public Builder content(String tagName, String className) {
+            return content(tagName, className, null);
+        }
+
+        /**
+         * Add a content container whose children are filtered
+         *
+         * @param childrenQuery CSS query the kept children match, e.g. "p, figure"
+         */
+        public Builder content(String tagName, String className, String childrenQuery) {
+            contents.add(new Content(tagName, className, childrenQuery));
+            return this;
+        }
+
+        // CSS query of the content elements to skip
+        public Builder skip(String query) {
+            skipQuery = query;
+            return this;
+        }
+
+        // Image attribute, attributes are tried in the order they are added
+        public Builder imageAttribute(String attribute) {
+            imageAttributes.add(attribute);
+            return this;
+        }
+
+        public ExtractionRule build() {
+            return new ExtractionRule(this);
+        }
+    }
+}
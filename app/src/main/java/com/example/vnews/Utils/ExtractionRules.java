@@ -0,0 +1,61 @@
+package com.example.vnews.Utils;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Registry of the extraction rule of each outlet, matched by the host of the article URL
+ */
+public class ExtractionRules {
+
+    // VnExpress layouts, also used for hosts without a rule of their own
+    public static final ExtractionRule VNEXPRESS = new ExtractionRule.Builder("vnexpress")
+            .host("vnexpress.net")
+            .content("article", "fck_detail")
+            .content("div", "fck_detail")
+            .content(null, "content-detail", "p, figure")
+            .skip(".box-relate, .box-topping, .related-news, .social-box")
+            .imageAttribute("data-src")
+            .imageAttribute("src")
+            .build();
+
+    private static final List<ExtractionRule> rules = new CopyOnWriteArrayList<>();
+
+    static {
+        rules.add(VNEXPRESS);
+    }
+
+    /**
+     * Add the rule of another outlet, rules added later take precedence
+     */
+    public static void register(ExtractionRule rule) {
+        rules.add(0, rule);
+    }
+
+    /**
+     * Rule for an article URL, the VnExpress rule when no rule matches its host
+     */
+    public static ExtractionRule forUrl(String url) {
+        String host = hostOf(url);
+        if (host != null) {
+            for (ExtractionRule rule : rules) {
+                if (rule.matchesHost(host)) {
+                    return rule;
+                }
+            }
+        }
+        return VNEXPRESS;
+    }
+
+    private static String hostOf(String url) {
+        try {
+            String host = new URI(url).getHost();
+            return host != null ? host.toLowerCase(Locale.ROOT) : null;
+        } catch (URISyntaxException e) {
+            return null;
+        }
+    }
+}
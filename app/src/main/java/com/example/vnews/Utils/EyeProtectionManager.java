@@ -4,20 +4,61 @@ import android.app.Activity;
 import android.content.Context;
 import android.content.SharedPreferences;
 import android.graphics.Color;
+import android.graphics.ColorMatrix;
+import android.graphics.ColorMatrixColorFilter;
+import android.graphics.Paint;
 import android.view.View;
-import android.view.ViewGroup;
-import android.widget.FrameLayout;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Set;
+import java.util.WeakHashMap;
 
 /**
- * Utility class to manage eye protection mode across the application
+ * Utility class to manage eye protection mode across the application.
+ * The setting is read once and then kept in memory, updated by a preference listener.
+ * The tint is a color filter on the hardware layer of each window's decor view,
+ * so it costs no extra view and no overdraw, and toggling it never touches the view tree.
  */
 public class EyeProtectionManager {
     private static final String PREFS_NAME = "EyeProtectionPrefs";
     private static final String KEY_EYE_PROTECTION_ENABLED = "eyeProtectionEnabled";
-    
-    // The color of the overlay filter (light amber tint)
+
+    // The color of the filter (light amber tint)
     private static final int OVERLAY_COLOR = Color.parseColor("#17FFB65C");
-    private static final int OVERLAY_ID = 9997;
+
+    // Same result as drawing OVERLAY_COLOR over the window, as a single layer paint
+    private static final Paint FILTER_PAINT = createFilterPaint();
+
+    private static SharedPreferences prefs;
+    private static volatile boolean enabled;
+
+    // Held here because SharedPreferences only keeps a weak reference to its listeners
+    private static final SharedPreferences.OnSharedPreferenceChangeListener preferenceListener =
+            (sharedPreferences, key) -> {
+                if (KEY_EYE_PROTECTION_ENABLED.equals(key)) {
+                    enabled = sharedPreferences.getBoolean(KEY_EYE_PROTECTION_ENABLED, false);
+                    applyToWindows();
+                }
+            };
+
+    // Activities whose window is filtered, main thread only
+    private static final Set<Activity> windows = Collections.newSetFromMap(new WeakHashMap<>());
+
+    /**
+     * Load the setting and start listening to changes. Called at startup, safe to call again.
+     * @param context The context
+     */
+    public static synchronized void init(Context context) {
+        if (prefs != null) {
+            return;
+        }
+        SharedPreferences sharedPreferences = context.getApplicationContext()
+                .getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+        enabled = sharedPreferences.getBoolean(KEY_EYE_PROTECTION_ENABLED, false);
+        sharedPreferences.registerOnSharedPreferenceChangeListener(preferenceListener);
+        prefs = sharedPreferences;
+    }
 
     /**
      * Check if eye protection mode is enabled
@@ -25,8 +66,8 @@ public class EyeProtectionManager {
      * @return true if enabled, false otherwise
      */
     public static boolean isEyeProtectionEnabled(Context context) {
-        SharedPreferences prefs = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
-        return prefs.getBoolean(KEY_EYE_PROTECTION_ENABLED, false);
+        init(context);
+        return enabled;
     }
 
     /**
@@ -35,66 +76,56 @@ public class EyeProtectionManager {
      * @param enabled Whether to enable eye protection
      */
     public static void setEyeProtectionEnabled(Context context, boolean enabled) {
-        SharedPreferences prefs = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+        init(context);
         prefs.edit().putBoolean(KEY_EYE_PROTECTION_ENABLED, enabled).apply();
     }
 
     /**
-     * Apply eye protection overlay to an activity
-     * @param activity The activity to apply the overlay to
+     * Filter an activity's window while eye protection is enabled, now and after later changes.
+     * Called once per activity, after its content view is set.
+     * @param activity The activity to apply the filter to
      */
     public static void applyEyeProtectionIfEnabled(Activity activity) {
-        if (isEyeProtectionEnabled(activity)) {
-            applyEyeProtection(activity);
-        } else {
-            removeEyeProtection(activity);
-        }
+        init(activity);
+        windows.add(activity);
+        apply(activity);
     }
 
     /**
-     * Apply eye protection overlay regardless of setting
-     * @param activity The activity to apply the overlay to
+     * Stop updating an activity's window
+     * @param activity The destroyed activity
      */
-    private static void applyEyeProtection(Activity activity) {
-        // Remove any existing overlay first
-        removeEyeProtection(activity);
-        
-        // Get the root view
-        ViewGroup decorView = (ViewGroup) activity.getWindow().getDecorView();
-        View rootView = decorView.findViewById(android.R.id.content);
-
-        // Create overlay view
-        View overlayView = new View(activity);
-        overlayView.setId(OVERLAY_ID);
-        overlayView.setBackgroundColor(OVERLAY_COLOR);
-        
-        // Add overlay to the activity's content view
-        if (rootView instanceof ViewGroup) {
-            ViewGroup contentView = (ViewGroup) rootView;
-            
-            // Create FrameLayout params that match parent
-            FrameLayout.LayoutParams params = new FrameLayout.LayoutParams(
-                    ViewGroup.LayoutParams.MATCH_PARENT,
-                    ViewGroup.LayoutParams.MATCH_PARENT);
-            
-            contentView.addView(overlayView, params);
+    public static void release(Activity activity) {
+        windows.remove(activity);
+    }
+
+    private static void applyToWindows() {
+        for (Activity activity : new ArrayList<>(windows)) {
+            apply(activity);
         }
     }
 
-    /**
-     * Remove eye protection overlay
-     * @param activity The activity to remove the overlay from
-     */
-    private static void removeEyeProtection(Activity activity) {
-        ViewGroup decorView = (ViewGroup) activity.getWindow().getDecorView();
-        View rootView = decorView.findViewById(android.R.id.content);
-        
-        if (rootView instanceof ViewGroup) {
-            ViewGroup contentView = (ViewGroup) rootView;
-            View overlayView = contentView.findViewById(OVERLAY_ID);
-            if (overlayView != null) {
-                contentView.removeView(overlayView);
-            }
+    private static void apply(Activity activity) {
+        View decorView = activity.getWindow().getDecorView();
+        if (enabled) {
+            decorView.setLayerType(View.LAYER_TYPE_HARDWARE, FILTER_PAINT);
+        } else if (decorView.getLayerType() != View.LAYER_TYPE_NONE) {
+            decorView.setLayerType(View.LAYER_TYPE_NONE, null);
         }
     }
-} 
\ No newline at end of file
+
+    // Blend every pixel towards the tint by the tint's alpha: c * (1 - a) + tint * a
+    private static Paint createFilterPaint() {
+        float alpha = Color.alpha(OVERLAY_COLOR) / 255f;
+        float keep = 1f - alpha;
+        ColorMatrix matrix = new ColorMatrix(new float[] {
+                keep, 0, 0, 0, Color.red(OVERLAY_COLOR) * alpha,
+                0, keep, 0, 0, Color.green(OVERLAY_COLOR) * alpha,
+                0, 0, keep, 0, Color.blue(OVERLAY_COLOR) * alpha,
+                0, 0, 0, 1, 0
+        });
+        Paint paint = new Paint();
+        paint.setColorFilter(new ColorMatrixColorFilter(matrix));
+        return paint;
+    }
+}
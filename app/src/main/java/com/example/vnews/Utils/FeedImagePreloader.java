@@ -0,0 +1,115 @@
+package com.example.vnews.Utils;
+
+import android.content.Context;
+import android.graphics.drawable.Drawable;
+import android.util.Pair;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.ConcatAdapter;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.bumptech.glide.Glide;
+import com.bumptech.glide.ListPreloader;
+import com.bumptech.glide.RequestBuilder;
+import com.bumptech.glide.integration.recyclerview.RecyclerViewPreloader;
+import com.bumptech.glide.util.FixedPreloadSizeProvider;
+import com.example.vnews.Adapter.NewsAdapter;
+import com.example.vnews.Model.RssNewsItem;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Preloads feed thumbnails ahead of scrolling, at the exact size the rows display them,
+ * and pauses image loading during fast flings
+ */
+public class FeedImagePreloader {
+
+    // Number of rows ahead of the visible ones whose images are preloaded
+    private static final int PRELOAD_ROWS = 6;
+
+    // Fling velocity (px/s) above which image loads are paused until scrolling settles
+    private static final int FAST_FLING_VELOCITY = 8000;
+
+    /**
+     * Attach preloading to a list showing a NewsAdapter, directly or inside a ConcatAdapter
+     *
+     * @param recyclerView The list
+     * @param newsAdapter The adapter whose rows have thumbnails
+     */
+    public static void attach(RecyclerView recyclerView, NewsAdapter newsAdapter) {
+        Context context = recyclerView.getContext();
+
+        ListPreloader.PreloadModelProvider<RssNewsItem> modelProvider =
+                new ListPreloader.PreloadModelProvider<RssNewsItem>() {
+                    @NonNull
+                    @Override
+                    public List<RssNewsItem> getPreloadItems(int position) {
+                        RssNewsItem item = findNewsItem(recyclerView, newsAdapter, position);
+                        if (item == null || item.getImageUrl().isEmpty()) {
+                            return Collections.emptyList();
+                        }
+                        return Collections.singletonList(item);
+                    }
+
+                    @Nullable
+                    @Override
+                    public RequestBuilder<Drawable> getPreloadRequestBuilder(@NonNull RssNewsItem item) {
+                        return newsAdapter.buildThumbnailRequest(item);
+                    }
+                };
+
+        FixedPreloadSizeProvider<RssNewsItem> sizeProvider = new FixedPreloadSizeProvider<>(
+                newsAdapter.getThumbnailWidth(), newsAdapter.getThumbnailHeight());
+
+        recyclerView.addOnScrollListener(new RecyclerViewPreloader<>(
+                Glide.with(context), modelProvider, sizeProvider, PRELOAD_ROWS));
+
+        // Pause loads on fast flings, the rows flying past would never be seen
+        recyclerView.setOnFlingListener(new RecyclerView.OnFlingListener() {
+            @Override
+            public boolean onFling(int velocityX, int velocityY) {
+                if (Math.abs(velocityY) > FAST_FLING_VELOCITY) {
+                    Glide.with(context).pauseRequests();
+                }
+                return false;
+            }
+        });
+        recyclerView.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrollStateChanged(@NonNull RecyclerView rv, int newState) {
+                if (newState == RecyclerView.SCROLL_STATE_IDLE && Glide.with(context).isPaused()) {
+                    Glide.with(context).resumeRequests();
+                }
+            }
+        });
+    }
+
+    /**
+     * Map a position of the list to an item of the news adapter, skipping header rows
+     */
+    private static RssNewsItem findNewsItem(RecyclerView recyclerView, NewsAdapter newsAdapter, int position) {
+        RecyclerView.Adapter<?> adapter = recyclerView.getAdapter();
+        if (adapter == null || position < 0 || position >= adapter.getItemCount()) {
+            return null;
+        }
+        int newsPosition = position;
+
+        if (adapter instanceof ConcatAdapter) {
+            Pair<RecyclerView.Adapter<? extends RecyclerView.ViewHolder>, Integer> wrapped =
+                    ((ConcatAdapter) adapter).getWrappedAdapterAndPosition(position);
+            if (wrapped.first != newsAdapter) {
+                return null;
+            }
+            newsPosition = wrapped.second;
+        } else if (adapter != newsAdapter) {
+            return null;
+        }
+
+        if (newsPosition < 0 || newsPosition >= newsAdapter.getItemCount()) {
+            return null;
+        }
+        return newsAdapter.getNewsItem(newsPosition);
+    }
+}
@@ -0,0 +1,289 @@
+package com.example.vnews.Utils;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Streaming scanner that cuts one element out of an HTML page without building a DOM.
+ * Tags are tokenized as the page is read, text before the region is only kept for the
+ * fallback, and reading stops as soon as the preferred region's closing tag is seen, so the
+ * rest of the page (comments, related boxes, scripts) is never downloaded or parsed.
+ */
+public class HtmlRegionScanner {
+
+    private static final Pattern CLASS_ATTRIBUTE = Pattern.compile(
+            "\\sclass\\s*=\\s*(?:\"([^\"]*)\"|'([^']*)'|([^\\s>]+))", Pattern.CASE_INSENSITIVE);
+
+    private static final int BUFFER_SIZE = 8192;
+
+    /**
+     * Start tag of a region: a tag name (null for any tag) carrying a class
+     */
+    public static class Region {
+        private final String tagName;
+        private final String className;
+
+        public Region(String tagName, String className) {
+            this.tagName = tagName;
+            this.className = className;
+        }
+
+        public String getTagName() {
+            return tagName;
+        }
+
+        public String getClassName() {
+            return className;
+        }
+
+        boolean matches(String tag, String classes) {
+            if (tagName != null && !tagName.equals(tag)) {
+                return false;
+            }
+            for (String token : classes.split("\\s+")) {
+                if (token.equals(className)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Outer HTML of the region found, or the whole page when no region was found
+     */
+    public static class Result {
+        private final Region region;
+        private final String html;
+
+        Result(Region region, String html) {
+            this.region = region;
+            this.html = html;
+        }
+
+        // The region that matched, null if the whole page was read without finding one
+        public Region getRegion() {
+            return region;
+        }
+
+        public String getHtml() {
+            return html;
+        }
+    }
+
+    private final Reader reader;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int position;
+    private int limit;
+
+    private HtmlRegionScanner(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Read a page up to the end of the best element matching one of the regions.
+     * Regions are ranked by their order in the list: the page is read until the first region's
+     * element closes, and a later region's element is only kept if the first never shows up,
+     * even when it comes earlier in the page or wraps the first one.
+     *
+     * @param reader The decoded page, left partially read when the first region is found
+     * @param regions Candidate regions, best first
+     * @return The region's outer HTML, or the whole page so the caller can fall back to a full parse
+     */
+    public static Result scan(Reader reader, List<Region> regions) throws IOException {
+        return new HtmlRegionScanner(reader).scan(regions);
+    }
+
+    private Result scan(List<Region> regions) throws IOException {
+        // Page read so far, only kept until a region starts
+        StringBuilder page = new StringBuilder();
+        // Text read after a lower-ranked region closed, thrown away
+        StringBuilder skipped = new StringBuilder();
+
+        // Region being read
+        StringBuilder regionHtml = null;
+        int regionRank = Integer.MAX_VALUE;
+        String regionTag = null;
+        int depth = 0;
+
+        // Best region read to its end so far
+        String bestHtml = null;
+        int bestRank = Integer.MAX_VALUE;
+
+        int c;
+        while ((c = read()) != -1) {
+            skipped.setLength(0);
+            StringBuilder out = regionHtml != null ? regionHtml : page != null ? page : skipped;
+            if (c != '<' || !startsTag()) {
+                out.append((char) c);
+                continue;
+            }
+
+            String tag = readTag();
+            if (tag.startsWith("<!")) {
+                // Comments, doctype and CDATA never open or close a region
+                out.append(tag);
+                continue;
+            }
+
+            boolean endTag = tag.startsWith("</");
+            String name = tagName(tag, endTag ? 2 : 1);
+
+            if (!endTag) {
+                int rank = rankOf(regions, name, classOf(tag));
+                // A better region starts, also when nested in the one being read
+                if (rank < regionRank && rank < bestRank) {
+                    regionRank = rank;
+                    regionTag = name;
+                    regionHtml = new StringBuilder();
+                    depth = 0;
+                    page = null;
+                    out = regionHtml;
+                }
+            }
+
+            out.append(tag);
+
+            if (regionHtml != null && name.equals(regionTag)) {
+                if (endTag) {
+                    depth--;
+                } else if (!tag.endsWith("/>")) {
+                    depth++;
+                }
+                if (depth == 0) {
+                    if (regionRank == 0) {
+                        return new Result(regions.get(0), regionHtml.toString());
+                    }
+                    // Keep reading in case a better region follows
+                    bestHtml = regionHtml.toString();
+                    bestRank = regionRank;
+                    regionHtml = null;
+                    regionRank = Integer.MAX_VALUE;
+                    regionTag = null;
+                }
+            }
+
+            // Script and style bodies may contain '<', copy them through unparsed
+            if (!endTag && ("script".equals(name) || "style".equals(name))) {
+                readRawText(name, out);
+            }
+        }
+
+        // Truncated region, the parser closes whatever is still open
+        if (regionHtml != null && regionRank < bestRank) {
+            return new Result(regions.get(regionRank), regionHtml.toString());
+        }
+        if (bestHtml != null) {
+            return new Result(regions.get(bestRank), bestHtml);
+        }
+        return new Result(null, page.toString());
+    }
+
+    // Index of the first region a start tag matches, MAX_VALUE if none
+    private static int rankOf(List<Region> regions, String tag, String classes) {
+        for (int i = 0; i < regions.size(); i++) {
+            if (regions.get(i).matches(tag, classes)) {
+                return i;
+            }
+        }
+        return Integer.MAX_VALUE;
+    }
+
+    private int read() throws IOException {
+        if (position == limit) {
+            limit = reader.read(buffer, 0, buffer.length);
+            position = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return -1;
+            }
+        }
+        return buffer[position++];
+    }
+
+    // Whether the character after a '<' can start a tag, a stray '<' in text is kept as text
+    private boolean startsTag() throws IOException {
+        int next = read();
+        if (next == -1) {
+            return false;
+        }
+        position--;
+        return Character.isLetter(next) || next == '/' || next == '!';
+    }
+
+    /**
+     * Read a tag after its '<' up to the closing '>', skipping '>' inside quoted attribute values
+     * and reading comments up to their "-->"
+     */
+    private String readTag() throws IOException {
+        StringBuilder tag = new StringBuilder("<");
+        char quote = 0;
+        int c;
+        while ((c = read()) != -1) {
+            tag.append((char) c);
+            if (tag.length() == 4 && "<!--".contentEquals(tag)) {
+                readUntil("-->", tag);
+                break;
+            }
+            if (quote != 0) {
+                if (c == quote) quote = 0;
+            } else if (c == '"' || c == '\'') {
+                quote = (char) c;
+            } else if (c == '>') {
+                break;
+            }
+        }
+        return tag.toString();
+    }
+
+    private void readRawText(String name, StringBuilder out) throws IOException {
+        readUntil("</" + name, out);
+        // Rest of the closing tag
+        int c;
+        while ((c = read()) != -1) {
+            out.append((char) c);
+            if (c == '>') break;
+        }
+    }
+
+    // Copy characters up to and including a terminator, ignoring case
+    private void readUntil(String terminator, StringBuilder out) throws IOException {
+        int length = terminator.length();
+        char last = terminator.charAt(length - 1);
+        int c;
+        while ((c = read()) != -1) {
+            out.append((char) c);
+            if (Character.toLowerCase(c) == last && out.length() >= length
+                    && out.substring(out.length() - length).equalsIgnoreCase(terminator)) {
+                return;
+            }
+        }
+    }
+
+    private static String tagName(String tag, int start) {
+        int end = start;
+        while (end < tag.length()) {
+            char c = tag.charAt(end);
+            if (Character.isWhitespace(c) || c == '>' || c == '/') break;
+            end++;
+        }
+        return tag.substring(start, end).toLowerCase(Locale.ROOT);
+    }
+
+    private static String classOf(String tag) {
+        Matcher matcher = CLASS_ATTRIBUTE.matcher(tag);
+        if (!matcher.find()) {
+            return "";
+        }
+        for (int group = 1; group <= 3; group++) {
+            if (matcher.group(group) != null) {
+                return matcher.group(group);
+            }
+        }
+        return "";
+    }
+}
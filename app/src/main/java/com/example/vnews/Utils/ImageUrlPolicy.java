@@ -0,0 +1,150 @@
+package com.example.vnews.Utils;
+
+import android.content.Context;
+import android.graphics.drawable.Drawable;
+
+import androidx.annotation.DrawableRes;
+
+import com.bumptech.glide.Glide;
+import com.bumptech.glide.RequestBuilder;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Rewrites publisher image URLs to ask the CDN for the width an image is displayed at,
+ * instead of downloading the full resolution and downscaling it on the device.
+ * Widths are rounded up to a few buckets so the CDN and Glide caches keep hitting.
+ * URLs of unknown hosts and signed URLs are used as they are.
+ */
+public class ImageUrlPolicy {
+
+    // Widths (px) the CDN is asked for, smallest first
+    private static final int[] WIDTH_BUCKETS = {160, 240, 320, 480, 640, 800, 960, 1200};
+
+    // VnExpress image CDN, resizes with the w, h and dpr query parameters
+    private static final String VNECDN_HOST = "vnecdn.net";
+
+    // Signature the CDN checks against the other query parameters
+    private static final String SIGNATURE_PARAMETER = "s";
+
+    /**
+     * URL of an image sized for a view
+     *
+     * @param url Image URL from the feed or the article
+     * @param widthPx Width the image is displayed at, in pixels
+     * @return The rewritten URL, or the URL itself for unknown hosts and signed URLs
+     */
+    public static String forWidth(String url, int widthPx) {
+        if (url == null || url.isEmpty() || widthPx <= 0) {
+            return url;
+        }
+
+        URI uri;
+        try {
+            uri = new URI(url);
+        } catch (URISyntaxException e) {
+            return url;
+        }
+        String host = uri.getHost();
+        if (host == null || !(host.equals(VNECDN_HOST) || host.endsWith("." + VNECDN_HOST))) {
+            return url;
+        }
+
+        // Query parameters in their order, values left encoded
+        Map<String, String> parameters = new LinkedHashMap<>();
+        String query = uri.getRawQuery();
+        if (query != null && !query.isEmpty()) {
+            for (String parameter : query.split("&")) {
+                int equals = parameter.indexOf('=');
+                String name = equals >= 0 ? parameter.substring(0, equals) : parameter;
+                parameters.putIfAbsent(name, equals >= 0 ? parameter.substring(equals + 1) : null);
+            }
+        }
+
+        // s signs the other parameters, the CDN rejects a signed URL whose size was changed
+        if (parameters.containsKey(SIGNATURE_PARAMETER)) {
+            return url;
+        }
+
+        int width = bucket(widthPx);
+        int originalWidth = parseInt(parameters.get("w"));
+        int originalHeight = parseInt(parameters.get("h"));
+
+        // Never ask for more than the publisher's own size
+        if (originalWidth > 0 && width >= originalWidth) {
+            return url;
+        }
+
+        // Keep the aspect ratio of cropped images, h=0 keeps the original ratio
+        int height = originalWidth > 0 && originalHeight > 0
+                ? Math.round((float) originalHeight * width / originalWidth) : 0;
+
+        StringBuilder sized = new StringBuilder(url.length() + 16);
+        int end = url.indexOf('?');
+        if (end < 0) {
+            end = url.indexOf('#');
+        }
+        sized.append(end >= 0 ? url.substring(0, end) : url);
+        sized.append("?w=").append(width).append("&h=").append(height);
+        for (Map.Entry<String, String> parameter : parameters.entrySet()) {
+            String name = parameter.getKey();
+            if ("w".equals(name) || "h".equals(name)) {
+                continue;
+            }
+            sized.append('&').append(name);
+            // The width is already in pixels
+            String value = "dpr".equals(name) ? "1" : parameter.getValue();
+            if (value != null) {
+                sized.append('=').append(value);
+            }
+        }
+        if (uri.getRawFragment() != null) {
+            sized.append('#').append(uri.getRawFragment());
+        }
+        return sized.toString();
+    }
+
+    /**
+     * Glide request for an image sized for a view, retrying the original URL
+     * if the CDN rejects the rewritten one
+     *
+     * @param placeholderId Drawable shown while loading and when both URLs fail
+     */
+    public static RequestBuilder<Drawable> load(Context context, String url, int widthPx,
+                                                @DrawableRes int placeholderId) {
+        String sizedUrl = forWidth(url, widthPx);
+        RequestBuilder<Drawable> request = Glide.with(context).load(sizedUrl)
+                .placeholder(placeholderId)
+                .error(placeholderId);
+        if (sizedUrl != null && !sizedUrl.equals(url)) {
+            // Once the fallback fails Glide shows its error drawable, not the one above
+            request = request.error(Glide.with(context).load(url)
+                    .placeholder(placeholderId)
+                    .error(placeholderId));
+        }
+        return request;
+    }
+
+    private static int bucket(int widthPx) {
+        for (int bucket : WIDTH_BUCKETS) {
+            if (bucket >= widthPx) {
+                return bucket;
+            }
+        }
+        return WIDTH_BUCKETS[WIDTH_BUCKETS.length - 1];
+    }
+
+    private static int parseInt(String value) {
+        if (value == null) {
+            return 0;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.example.vnews.Utils;
+
+import java.util.Iterator;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * App-wide scheduler for network and disk work, shared by every screen.
+ * Work is submitted to a priority lane and runs on a bounded set of threads:
+ * pending jobs start highest lane first, and lower lanes may only use part of the threads,
+ * so an article the user opens never queues behind feed refreshes or prefetching.
+ * Running jobs are not interrupted, since callers may share a download (see FeedFetcher);
+ * background work is preempted between jobs instead, which is why prefetchers submit
+ * one job per feed or article.
+ */
+public class IoScheduler {
+
+    private static final int MAX_THREADS = 4;
+    private static final long KEEP_ALIVE_SECONDS = 30;
+
+    /**
+     * Priority lanes, most urgent first
+     */
+    public enum Lane {
+        // Article the user is waiting on
+        FOREGROUND_ARTICLE(MAX_THREADS),
+        // Feed shown on screen
+        VISIBLE_FEED(MAX_THREADS - 1),
+        // Work the user has not asked for yet
+        BACKGROUND_PREFETCH(2);
+
+        // Threads that may run this lane and the lanes below it together
+        private final int threadLimit;
+
+        Lane(int threadLimit) {
+            this.threadLimit = threadLimit;
+        }
+    }
+
+    // Singleton instance
+    private static volatile IoScheduler instance;
+
+    private final ExecutorService threads;
+
+    // Jobs waiting for a thread in priority order, guarded by this
+    private final TreeSet<Job> pending = new TreeSet<>();
+
+    // Running jobs per lane, guarded by this
+    private final int[] running = new int[Lane.values().length];
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private IoScheduler() {
+        // Never holds more jobs than threads, the queue only absorbs the handover
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(
+                MAX_THREADS, MAX_THREADS,
+                KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                new NamedThreadFactory("vnews-io"));
+        pool.allowCoreThreadTimeOut(true);
+        threads = pool;
+    }
+
+    // Get singleton instance
+    public static IoScheduler getInstance() {
+        if (instance == null) {
+            synchronized (IoScheduler.class) {
+                if (instance == null) {
+                    instance = new IoScheduler();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Queue work on a lane
+     *
+     * @return A future to wait on or cancel the job
+     */
+    public <T> Future<T> submit(Lane lane, Callable<T> callable) {
+        FutureTask<T> task = new FutureTask<>(callable);
+        execute(lane, task);
+        return task;
+    }
+
+    public Future<?> submit(Lane lane, Runnable runnable) {
+        return submit(lane, () -> {
+            runnable.run();
+            return null;
+        });
+    }
+
+    /**
+     * Queue a FutureTask that reports its own result, e.g. one that posts to the main thread
+     * from done(). The task itself is queued, so cancelling it through its own cancel()
+     * drops it from the queue without ever taking a thread.
+     */
+    public void execute(Lane lane, FutureTask<?> task) {
+        enqueue(new Job(lane, sequence.getAndIncrement(), task));
+    }
+
+    private synchronized void enqueue(Job job) {
+        pending.add(job);
+        dispatch();
+    }
+
+    /**
+     * Start pending jobs, most urgent first, while their lane has threads left
+     */
+    private synchronized void dispatch() {
+        while (runningAtOrBelow(Lane.FOREGROUND_ARTICLE) < MAX_THREADS) {
+            Job next = pollStartable();
+            if (next == null) {
+                break;
+            }
+            running[next.lane.ordinal()]++;
+            threads.execute(next);
+        }
+    }
+
+    // Highest priority job whose lane is under its thread limit, dropping cancelled jobs
+    private Job pollStartable() {
+        Iterator<Job> iterator = pending.iterator();
+        while (iterator.hasNext()) {
+            Job job = iterator.next();
+            if (job.task.isDone()) {
+                iterator.remove();
+            } else if (runningAtOrBelow(job.lane) < job.lane.threadLimit) {
+                iterator.remove();
+                return job;
+            }
+        }
+        return null;
+    }
+
+    private int runningAtOrBelow(Lane lane) {
+        int count = 0;
+        for (int i = lane.ordinal(); i < running.length; i++) {
+            count += running[i];
+        }
+        return count;
+    }
+
+    private synchronized void finished(Job job) {
+        running[job.lane.ordinal()]--;
+        dispatch();
+    }
+
+    // A queued task and where it stands in the queue
+    private class Job implements Runnable, Comparable<Job> {
+
+        private final Lane lane;
+        private final long order;
+        private final FutureTask<?> task;
+
+        Job(Lane lane, long order, FutureTask<?> task) {
+            this.lane = lane;
+            this.order = order;
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            try {
+                // Does nothing if the task was cancelled after it was dispatched
+                task.run();
+            } finally {
+                finished(this);
+            }
+        }
+
+        // Lane first, then submission order within a lane
+        @Override
+        public int compareTo(Job other) {
+            if (lane != other.lane) {
+                return Integer.compare(lane.ordinal(), other.lane.ordinal());
+            }
+            return Long.compare(order, other.order);
+        }
+    }
+
+    private static class NamedThreadFactory implements ThreadFactory {
+        private final String prefix;
+        private final AtomicInteger count = new AtomicInteger(1);
+
+        NamedThreadFactory(String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, prefix + "-" + count.getAndIncrement());
+            thread.setPriority(Thread.NORM_PRIORITY - 1);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.example.vnews.Utils;
+
+import android.os.Looper;
+import android.os.SystemClock;
+import android.util.Log;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * App startup work as a graph of named tasks with declared dependencies.
+ * A task starts as soon as all of its dependencies have finished: main-thread tasks
+ * without dependencies run inside start(), everything else runs on IoScheduler's background lane,
+ * so Application.onCreate only pays for what the first frame really needs.
+ * The duration of every task is logged under the "Startup" tag to track cold-start regressions.
+ */
+public class StartupGraph {
+
+    private static final String TAG = "Startup";
+
+    private static class Task {
+        private final String name;
+        private final Runnable body;
+        private final boolean mainThread;
+        private final List<String> dependencies;
+
+        // Tasks started when this one finishes
+        private final List<Task> dependents = new ArrayList<>();
+
+        // Dependencies not finished yet
+        private final AtomicInteger remaining;
+
+        Task(String name, Runnable body, boolean mainThread, String[] dependencies) {
+            this.name = name;
+            this.body = body;
+            this.mainThread = mainThread;
+            this.dependencies = Arrays.asList(dependencies);
+            this.remaining = new AtomicInteger(dependencies.length);
+        }
+    }
+
+    private final Map<String, Task> tasks;
+
+    // Duration of each finished task in milliseconds
+    private final Map<String, Long> timings = new ConcurrentHashMap<>();
+
+    private final AtomicInteger finished = new AtomicInteger();
+    private long startTime;
+
+    private StartupGraph(Map<String, Task> tasks) {
+        this.tasks = tasks;
+    }
+
+    /**
+     * Run the graph. Main-thread tasks without dependencies have finished when this returns.
+     */
+    public void start() {
+        startTime = SystemClock.elapsedRealtime();
+        List<Task> roots = new ArrayList<>();
+        for (Task task : tasks.values()) {
+            if (task.dependencies.isEmpty()) {
+                roots.add(task);
+            }
+        }
+        for (Task task : roots) {
+            schedule(task);
+        }
+    }
+
+    /**
+     * Duration of each task that has finished so far, in milliseconds
+     */
+    public Map<String, Long> getTimings() {
+        return Collections.unmodifiableMap(timings);
+    }
+
+    private void schedule(Task task) {
+        if (!task.mainThread) {
+            // Warm-up work never holds a thread a screen is waiting on
+            IoScheduler.getInstance().submit(IoScheduler.Lane.BACKGROUND_PREFETCH, () -> run(task));
+        } else if (Looper.myLooper() == Looper.getMainLooper()) {
+            run(task);
+        } else {
+            AppExecutors.getInstance().mainThread().execute(() -> run(task));
+        }
+    }
+
+    private void run(Task task) {
+        long start = SystemClock.elapsedRealtime();
+        try {
+            task.body.run();
+        } catch (RuntimeException e) {
+            // Dependents still run, each one copes with a missing dependency like on first use
+            Log.e(TAG, "Startup task " + task.name + " failed", e);
+        }
+        long duration = SystemClock.elapsedRealtime() - start;
+        timings.put(task.name, duration);
+        Log.i(TAG, task.name + " took " + duration + " ms on " + Thread.currentThread().getName());
+
+        for (Task dependent : task.dependents) {
+            if (dependent.remaining.decrementAndGet() == 0) {
+                schedule(dependent);
+            }
+        }
+
+        if (finished.incrementAndGet() == tasks.size()) {
+            Log.i(TAG, "All " + tasks.size() + " startup tasks done after "
+                    + (SystemClock.elapsedRealtime() - startTime) + " ms");
+        }
+    }
+
+    public static class Builder {
+        private final Map<String, Task> tasks = new LinkedHashMap<>();
+
+        /**
+         * Add a task run on a background thread
+         *
+         * @param name Unique name, used by dependents and in the timings
+         * @param dependencies Names of the tasks that must finish first
+         */
+        public Builder add(String name, Runnable body, String... dependencies) {
+            return add(new Task(name, body, false, dependencies));
+        }
+
+        /**
+         * Add a task that must run on the main thread, e.g. registering callbacks
+         */
+        public Builder addOnMainThread(String name, Runnable body, String... dependencies) {
+            return add(new Task(name, body, true, dependencies));
+        }
+
+        private Builder add(Task task) {
+            if (tasks.put(task.name, task) != null) {
+                throw new IllegalArgumentException("Duplicate startup task " + task.name);
+            }
+            return this;
+        }
+
+        /**
+         * Link the tasks to their dependencies
+         *
+         * @throws IllegalStateException if a dependency is unknown or the tasks form a cycle
+         */
+        public StartupGraph build() {
+            for (Task task : tasks.values()) {
+                for (String name : task.dependencies) {
+                    Task dependency = tasks.get(name);
+                    if (dependency == null) {
+                        throw new IllegalStateException(task.name + " depends on unknown task " + name);
+                    }
+                    dependency.dependents.add(task);
+                }
+            }
+            checkAcyclic();
+            return new StartupGraph(tasks);
+        }
+
+        // A task in a cycle would never start, fail fast instead of hanging part of startup
+        private void checkAcyclic() {
+            Map<Task, Integer> remaining = new LinkedHashMap<>();
+            List<Task> ready = new ArrayList<>();
+            for (Task task : tasks.values()) {
+                remaining.put(task, task.dependencies.size());
+                if (task.dependencies.isEmpty()) {
+                    ready.add(task);
+                }
+            }
+            int visited = 0;
+            while (!ready.isEmpty()) {
+                Task task = ready.remove(ready.size() - 1);
+                visited++;
+                for (Task dependent : task.dependents) {
+                    int left = remaining.get(dependent) - 1;
+                    remaining.put(dependent, left);
+                    if (left == 0) {
+                        ready.add(dependent);
+                    }
+                }
+            }
+            if (visited != tasks.size()) {
+                throw new IllegalStateException("Startup tasks have a dependency cycle");
+            }
+        }
+    }
+}
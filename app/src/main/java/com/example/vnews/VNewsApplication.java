@@ -3,81 +3,92 @@ package com.example.vnews;
 import android.app.Activity;
 import android.app.Application;
 import android.os.Bundle;
-import android.util.Log;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
+import com.bumptech.glide.Glide;
+import com.example.vnews.Repository.FeedPrefetcher;
+import com.example.vnews.Repository.FeedStore;
 import com.example.vnews.Repository.FirebaseRepository;
+import com.example.vnews.Repository.SavedArticlesIndex;
+import com.example.vnews.Utils.ArticlePrefetcher;
 import com.example.vnews.Utils.EyeProtectionManager;
-import com.google.firebase.FirebaseApp;
-import com.google.firebase.firestore.FirebaseFirestore;
-import com.google.firebase.firestore.FirebaseFirestoreSettings;
+import com.example.vnews.Utils.StartupGraph;
 
 public class VNewsApplication extends Application {
-    
-    private static final String TAG = "VNewsApplication";
-    
+
+    // Number of started activities, 0 means the app is in the background
+    private int startedActivities = 0;
+
     @Override
     public void onCreate() {
         super.onCreate();
-        
-        // Initialize Firebase
-        FirebaseApp.initializeApp(this);
-        
-        // Enable Firestore offline persistence
-        try {
-           FirebaseFirestoreSettings settings = new FirebaseFirestoreSettings.Builder()
-            .setPersistenceEnabled(false)
-            .build();
-            FirebaseFirestore.getInstance().setFirestoreSettings(settings);
 
-            Log.d(TAG, "Firebase Firestore offline persistence enabled");
-        } catch (Exception e) {
-            Log.e(TAG, "Failed to enable Firestore offline persistence", e);
+        // Only the lifecycle callbacks run before the first activity, the rest warms up in parallel.
+        // Firestore and FirebaseAuth are not touched here, FirebaseRepository creates them on first use.
+        new StartupGraph.Builder()
+                // Register activity lifecycle callbacks to apply eye protection
+                .addOnMainThread("lifecycle-callbacks", () -> registerActivityLifecycleCallbacks(lifecycleCallbacks))
+                // Warm up the eye protection setting, an activity created earlier loads it itself
+                .add("eye-protection", () -> EyeProtectionManager.init(this))
+                // Initialize repository, FirebaseInitProvider has already initialized Firebase
+                .add("firebase-repository", FirebaseRepository::getInstance)
+                // Load the saved article ids of the last session, Firestore is only asked on first use
+                .add("saved-articles-index", () -> FirebaseRepository.setSavedArticlesIndex(
+                        SavedArticlesIndex.getInstance(this)), "firebase-repository")
+                // Open the feed database before the home feed asks for it
+                .add("feed-store", () -> FeedStore.getInstance(this).getReadableDatabase())
+                // Build Glide's registry before the first thumbnail loads
+                .add("glide", () -> Glide.get(this))
+                .build()
+                .start();
+    }
+
+    private final ActivityLifecycleCallbacks lifecycleCallbacks = new ActivityLifecycleCallbacks() {
+        @Override
+        public void onActivityCreated(@NonNull Activity activity, @Nullable Bundle savedInstanceState) {
+            // No implementation needed
         }
-        
-        // Initialize repository
-        FirebaseRepository.getInstance();
-        
-        // Register activity lifecycle callbacks to apply eye protection
-        registerActivityLifecycleCallbacks(new ActivityLifecycleCallbacks() {
-            @Override
-            public void onActivityCreated(@NonNull Activity activity, @Nullable Bundle savedInstanceState) {
-                // Apply eye protection when each activity is created
-                EyeProtectionManager.applyEyeProtectionIfEnabled(activity);
-            }
 
-            @Override
-            public void onActivityStarted(@NonNull Activity activity) {
-                // No implementation needed
-            }
+        @Override
+        public void onActivityPostCreated(@NonNull Activity activity, @Nullable Bundle savedInstanceState) {
+            // Apply eye protection once the content view is set, later changes come from its listener
+            EyeProtectionManager.applyEyeProtectionIfEnabled(activity);
+        }
 
-            @Override
-            public void onActivityResumed(@NonNull Activity activity) {
-                // Apply eye protection when activity is resumed (in case setting was changed)
-                EyeProtectionManager.applyEyeProtectionIfEnabled(activity);
-            }
+        @Override
+        public void onActivityStarted(@NonNull Activity activity) {
+            startedActivities++;
+        }
 
-            @Override
-            public void onActivityPaused(@NonNull Activity activity) {
-                // No implementation needed
-            }
+        @Override
+        public void onActivityResumed(@NonNull Activity activity) {
+            // No implementation needed
+        }
 
-            @Override
-            public void onActivityStopped(@NonNull Activity activity) {
-                // No implementation needed
-            }
+        @Override
+        public void onActivityPaused(@NonNull Activity activity) {
+            // No implementation needed
+        }
 
-            @Override
-            public void onActivitySaveInstanceState(@NonNull Activity activity, @NonNull Bundle outState) {
-                // No implementation needed
+        @Override
+        public void onActivityStopped(@NonNull Activity activity) {
+            // The app went to the background, stop warming up feeds and articles nobody will see
+            if (--startedActivities == 0) {
+                FeedPrefetcher.getInstance(activity).cancel();
+                ArticlePrefetcher.getInstance(activity).cancel();
             }
+        }
 
-            @Override
-            public void onActivityDestroyed(@NonNull Activity activity) {
-                // No implementation needed
-            }
-        });
-    }
-} 
\ No newline at end of file
+        @Override
+        public void onActivitySaveInstanceState(@NonNull Activity activity, @NonNull Bundle outState) {
+            // No implementation needed
+        }
+
+        @Override
+        public void onActivityDestroyed(@NonNull Activity activity) {
+            EyeProtectionManager.release(activity);
+        }
+    };
+}
@@ -1,11 +1,13 @@
 package com.example.vnews.View;
 
-import android.app.Activity;
-import android.content.Context;
 import android.content.Intent;
 import android.view.MenuItem;
 
 import androidx.annotation.NonNull;
+import androidx.fragment.app.Fragment;
+import androidx.fragment.app.FragmentActivity;
+import androidx.fragment.app.FragmentManager;
+import androidx.fragment.app.FragmentTransaction;
 
 import com.example.vnews.R;
 import com.example.vnews.Repository.FirebaseRepository;
@@ -13,37 +15,41 @@ import com.google.android.material.bottomnavigation.BottomNavigationView;
 import com.google.android.material.navigation.NavigationBarView;
 
 /**
- * Lớp tiện ích để quản lý BottomNavigationView trong các màn hình của ứng dụng.
- * Lớp này giúp đồng bộ hóa xử lý sự kiện của BottomNavigationView giữa các Activity
- * và tránh lặp code.
+ * Lớp tiện ích để quản lý BottomNavigationView của MainActivity.
+ * Mỗi tab là một Fragment được tạo khi mở lần đầu rồi giữ lại: chuyển tab chỉ ẩn/hiện
+ * Fragment, nên danh sách, vị trí cuộn và dữ liệu đã tải không bị tạo lại hay tải lại.
  */
 public class BottomNavMenu {
 
-    private final Context context;
+    private final FragmentActivity activity;
     private final BottomNavigationView bottomNavigationView;
     private final FirebaseRepository repository;
-    private final int currentMenuItemId;
+    private final int containerId;
+    private int currentMenuItemId;
 
     /**
      * Khởi tạo BottomNavMenu
      *
-     * @param context Activity hiện tại
+     * @param activity Activity chứa các tab
      * @param bottomNavigationView BottomNavigationView cần xử lý
+     * @param containerId ID của view chứa các Fragment
      * @param currentMenuItemId ID của item hiện tại (để đánh dấu item đang chọn)
      */
-    public BottomNavMenu(Context context, BottomNavigationView bottomNavigationView, int currentMenuItemId) {
-        this.context = context;
+    public BottomNavMenu(FragmentActivity activity, BottomNavigationView bottomNavigationView,
+                         int containerId, int currentMenuItemId) {
+        this.activity = activity;
         this.bottomNavigationView = bottomNavigationView;
-        this.repository = new FirebaseRepository();
-        this.currentMenuItemId = currentMenuItemId;
-        
-        // Thiết lập item đang chọn
-        this.bottomNavigationView.setSelectedItemId(currentMenuItemId);
-        
+        this.repository = FirebaseRepository.getInstance();
+        this.containerId = containerId;
+
         // Thiết lập listener cho bottom navigation
         setupNavigation();
+
+        // Hiển thị tab ban đầu, các Fragment đã được khôi phục sau khi xoay màn hình được dùng lại
+        showTab(currentMenuItemId);
+        this.bottomNavigationView.getMenu().findItem(currentMenuItemId).setChecked(true);
     }
-    
+
     /**
      * Thiết lập sự kiện cho BottomNavigationView
      */
@@ -52,60 +58,116 @@ public class BottomNavMenu {
             @Override
             public boolean onNavigationItemSelected(@NonNull MenuItem item) {
                 int itemId = item.getItemId();
-                
+
                 // Không làm gì nếu item hiện tại được chọn
                 if (itemId == currentMenuItemId) {
                     return true;
                 }
-                
-                // Xử lý chuyển trang tùy thuộc vào item được chọn
-                if (itemId == R.id.navigation_home) {
-                    navigateTo(HomeActivity.class);
-                    return true;
-                } else if (itemId == R.id.navigation_explore) {
-                    navigateTo(ExploreActivity.class);
-                    return true;
-                } else if (itemId == R.id.navigation_profile) {
-                    // Kiểm tra trạng thái đăng nhập
-                    if (repository.isUserLoggedIn()) {
-                        // Nếu đã đăng nhập, chuyển đến ProfileActivity
-                        navigateTo(ProfileActivity.class);
-                    } else {
-                        // Nếu chưa đăng nhập, chuyển đến LoginActivity
-                        navigateTo(LoginActivity.class);
-                    }
-                    return true;
+
+                // Trang cá nhân cần đăng nhập, màn hình đăng nhập mở phía trên và tab hiện tại được giữ nguyên
+                if (itemId == R.id.navigation_profile && !repository.isUserLoggedIn()) {
+                    activity.startActivity(new Intent(activity, LoginActivity.class));
+                    return false;
                 }
-                
-                return false;
+
+                return showTab(itemId);
             }
         });
     }
-    
+
+    /**
+     * Chọn một tab như khi người dùng bấm vào nó
+     *
+     * @param menuItemId ID của item cần chọn
+     */
+    public void select(int menuItemId) {
+        bottomNavigationView.setSelectedItemId(menuItemId);
+    }
+
+    public int getCurrentMenuItemId() {
+        return currentMenuItemId;
+    }
+
     /**
-     * Chuyển đến Activity mới
-     * 
-     * @param activityClass Lớp Activity cần chuyển đến
+     * Bỏ Fragment của một tab, ví dụ trang cá nhân sau khi đăng xuất.
+     * Lần mở sau tab sẽ được tạo lại từ đầu.
+     *
+     * @param menuItemId ID của item cần bỏ
      */
-    private void navigateTo(Class<?> activityClass) {
-        Intent intent = new Intent(context, activityClass);
-        context.startActivity(intent);
-        
-        // Kết thúc Activity hiện tại nếu nó là Activity
-        if (context instanceof Activity) {
-            ((Activity) context).finish();
+    public void reset(int menuItemId) {
+        if (menuItemId == currentMenuItemId) {
+            return;
+        }
+        FragmentManager fragmentManager = activity.getSupportFragmentManager();
+        Fragment fragment = fragmentManager.findFragmentByTag(tagOf(menuItemId));
+        if (fragment != null) {
+            fragmentManager.beginTransaction().remove(fragment).commit();
         }
     }
-    
+
+    /**
+     * Hiện Fragment của một tab và ẩn tab đang hiện, Fragment chỉ được tạo ở lần mở đầu tiên
+     *
+     * @param menuItemId ID của item cần hiện
+     * @return true nếu tab tồn tại
+     */
+    private boolean showTab(int menuItemId) {
+        FragmentManager fragmentManager = activity.getSupportFragmentManager();
+        String tag = tagOf(menuItemId);
+        if (tag == null) {
+            return false;
+        }
+
+        FragmentTransaction transaction = fragmentManager.beginTransaction().setReorderingAllowed(true);
+        for (Fragment fragment : fragmentManager.getFragments()) {
+            if (!tag.equals(fragment.getTag()) && !fragment.isHidden()) {
+                transaction.hide(fragment);
+            }
+        }
+
+        Fragment target = fragmentManager.findFragmentByTag(tag);
+        if (target == null) {
+            transaction.add(containerId, createFragment(menuItemId), tag);
+        } else {
+            transaction.show(target);
+        }
+        transaction.commit();
+
+        currentMenuItemId = menuItemId;
+        return true;
+    }
+
+    private static String tagOf(int menuItemId) {
+        if (menuItemId == R.id.navigation_home) {
+            return "home";
+        } else if (menuItemId == R.id.navigation_explore) {
+            return "explore";
+        } else if (menuItemId == R.id.navigation_profile) {
+            return "profile";
+        }
+        return null;
+    }
+
+    private static Fragment createFragment(int menuItemId) {
+        if (menuItemId == R.id.navigation_explore) {
+            return new ExploreFragment();
+        } else if (menuItemId == R.id.navigation_profile) {
+            return new ProfileFragment();
+        }
+        return new HomeFragment();
+    }
+
     /**
      * Phương thức tiện ích tĩnh để thiết lập BottomNavigationView cho Activity
-     * 
-     * @param context Activity hiện tại
+     *
+     * @param activity Activity chứa các tab
      * @param bottomNavigationView BottomNavigationView cần xử lý
+     * @param containerId ID của view chứa các Fragment
      * @param currentMenuItemId ID của item hiện tại
      * @return BottomNavMenu đã được thiết lập
      */
-    public static BottomNavMenu setup(Context context, BottomNavigationView bottomNavigationView, int currentMenuItemId) {
-        return new BottomNavMenu(context, bottomNavigationView, currentMenuItemId);
+    public static BottomNavMenu setup(FragmentActivity activity, BottomNavigationView bottomNavigationView,
+                                      int containerId, int currentMenuItemId) {
+        return new BottomNavMenu(activity, bottomNavigationView, containerId, currentMenuItemId);
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,105 @@
+package com.example.vnews.View;
+
+import android.content.Context;
+import android.os.Bundle;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.Toast;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.databinding.DataBindingUtil;
+import androidx.fragment.app.Fragment;
+import androidx.recyclerview.widget.LinearLayoutManager;
+
+import com.example.vnews.Model.RssNewsItem;
+import com.example.vnews.R;
+import com.example.vnews.Repository.RssService;
+import com.example.vnews.databinding.FragmentExploreBinding;
+import com.example.vnews.Adapter.NewsAdapter;
+import com.example.vnews.Utils.FeedImagePreloader;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tab Khám phá: tin xem nhiều, được giữ lại khi chuyển sang tab khác
+ */
+public class ExploreFragment extends Fragment {
+
+    private FragmentExploreBinding binding;
+    private NewsAdapter newsAdapter;
+    private List<RssNewsItem> newsList;
+    private RssService rssService;
+    
+    // VnExpress RSS feed URL cho tin xem nhiều
+    private static final String MOST_VIEWED_RSS_URL = "https://vnexpress.net/rss/tin-xem-nhieu.rss";
+
+    @Nullable
+    @Override
+    public View onCreateView(@NonNull LayoutInflater inflater, @Nullable ViewGroup container,
+                             @Nullable Bundle savedInstanceState) {
+        binding = DataBindingUtil.inflate(inflater, R.layout.fragment_explore, container, false);
+        return binding.getRoot();
+    }
+
+    @Override
+    public void onViewCreated(@NonNull View view, @Nullable Bundle savedInstanceState) {
+        super.onViewCreated(view, savedInstanceState);
+        
+        // Thiết lập toolbar, tab gốc nên không có nút quay lại
+        binding.toolbar.setTitle(R.string.most_viewed_news);
+        
+        // Khởi tạo các thành phần
+        Context context = requireContext();
+        rssService = new RssService(context);
+        newsList = new ArrayList<>();
+        newsAdapter = new NewsAdapter(context);
+        
+        // Thiết lập RecyclerView
+        binding.mostViewedRecyclerView.setLayoutManager(new LinearLayoutManager(context));
+        binding.mostViewedRecyclerView.setAdapter(newsAdapter);
+        FeedImagePreloader.attach(binding.mostViewedRecyclerView, newsAdapter);
+        
+        // Thiết lập SwipeRefreshLayout
+        binding.swipeRefreshLayout.setOnRefreshListener(() -> loadMostViewedNews(true));
+        
+        // Tải dữ liệu một lần, các lần chuyển tab sau chỉ hiện lại danh sách đã có
+        loadMostViewedNews(false);
+    }
+    
+    // forceRefresh: bỏ qua khoảng thời gian còn mới của feed khi người dùng kéo để làm mới
+    private void loadMostViewedNews(boolean forceRefresh) {
+        binding.swipeRefreshLayout.setRefreshing(true);
+        
+        rssService.fetchNewsData(MOST_VIEWED_RSS_URL, MOST_VIEWED_RSS_URL, forceRefresh,
+                new RssService.OnFetchDataListener() {
+            @Override
+            public void onFetchDataSuccess(List<RssNewsItem> items) {
+                if (items != null && !items.isEmpty()) {
+                    // Cập nhật adapter với dữ liệu mới, chỉ các dòng thay đổi được bind lại
+                    newsList.clear();
+                    newsList.addAll(items);
+                    newsAdapter.updateNewsList(items);
+                }
+                binding.swipeRefreshLayout.setRefreshing(false);
+            }
+
+            @Override
+            public void onFetchDataFailure(Exception e) {
+                Toast.makeText(requireContext(), 
+                        "Lỗi khi tải tin tức: " + e.getMessage(), 
+                        Toast.LENGTH_SHORT).show();
+                binding.swipeRefreshLayout.setRefreshing(false);
+            }
+        });
+    }
+    
+    @Override
+    public void onDestroyView() {
+        super.onDestroyView();
+        // Hủy các yêu cầu đang chờ để không cập nhật màn hình đã bị hủy
+        rssService.cancelAll();
+    }
+}
@@ -0,0 +1,420 @@
+package com.example.vnews.View;
+
+import android.content.SharedPreferences;
+import android.os.Bundle;
+import android.text.format.DateFormat;
+import android.util.Pair;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.Toast;
+import android.content.Context;
+import android.view.inputmethod.InputMethodManager;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.fragment.app.Fragment;
+import androidx.recyclerview.widget.ConcatAdapter;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+
+import com.bumptech.glide.Glide;
+import com.example.vnews.Model.RssNewsItem;
+import com.example.vnews.R;
+import com.example.vnews.Adapter.FeaturedNewsAdapter;
+import com.example.vnews.Adapter.NewsAdapter;
+import com.example.vnews.Adapter.SectionHeaderAdapter;
+import com.example.vnews.Repository.FeedFetcher;
+import com.example.vnews.Repository.FeedPrefetcher;
+import com.example.vnews.Repository.FeedSnapshot;
+import com.example.vnews.Repository.FirebaseRepository;
+import com.example.vnews.Repository.RssService;
+import com.google.android.material.tabs.TabLayout;
+import androidx.databinding.DataBindingUtil;
+import com.example.vnews.databinding.FragmentHomeBinding;
+import com.example.vnews.Utils.ArticlePrefetcher;
+import com.example.vnews.Utils.FeedImagePreloader;
+import com.example.vnews.Utils.IoScheduler;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Tab Trang chủ: tin mới nhất theo chuyên mục, được giữ lại khi chuyển sang tab khác
+ */
+public class HomeFragment extends Fragment {
+
+    private FragmentHomeBinding binding;
+    private FirebaseRepository repository;
+    private SharedPreferences preferences;
+    private NewsAdapter newsAdapter;
+    private FeaturedNewsAdapter featuredNewsAdapter;
+    private List<RssNewsItem> newsList;
+    private RssService rssService;
+    
+    // Feed of the selected tab
+    private String currentFeedUrl = RSS_FEED_URL;
+    
+    // VnExpress RSS feed URL
+    private static final String RSS_FEED_URL = "https://vnexpress.net/rss/tin-moi-nhat.rss";
+    
+    // Category of each tab, in tab order
+    private static final String[] TAB_CATEGORIES = {"tin-moi-nhat", "thoi-su", "kinh-doanh", "the-thao"};
+    
+    // All tabs share one request slot so a stale tab never overwrites the newest list
+    private static final String HOME_FEED_TAG = "home_feed";
+
+    @Nullable
+    @Override
+    public View onCreateView(@NonNull LayoutInflater inflater, @Nullable ViewGroup container,
+                             @Nullable Bundle savedInstanceState) {
+        binding = DataBindingUtil.inflate(inflater, R.layout.fragment_home, container, false);
+        return binding.getRoot();
+    }
+
+    @Override
+    public void onViewCreated(@NonNull View view, @Nullable Bundle savedInstanceState) {
+        super.onViewCreated(view, savedInstanceState);
+        
+        Context context = requireContext();
+        preferences = context.getSharedPreferences("VNNews", Context.MODE_PRIVATE);
+        repository = FirebaseRepository.getInstance();
+        rssService = new RssService(context);
+        newsList = new ArrayList<>();
+        
+        // Initialize adapter, items are submitted once loaded
+        newsAdapter = new NewsAdapter(context);
+        featuredNewsAdapter = new FeaturedNewsAdapter(context);
+
+        setupUI();
+        setupListeners();
+        setupTouchListenerToHideKeyboard();
+        
+        // Show the last home feed right away, the first frame then has real content
+        List<RssNewsItem> snapshot = FeedSnapshot.getInstance(context).read(currentFeedUrl);
+        if (!snapshot.isEmpty()) {
+            showNews(snapshot);
+        }
+        // The feed is loaded by onResume, which always follows onViewCreated
+    }
+
+    private void setupUI() {
+        updateWelcomeText();
+
+        // Set current date
+        String date = DateFormat.format("EEEE, dd MMMM", Calendar.getInstance(Locale.getDefault())).toString();
+        binding.dateText.setText(date);
+
+        // Setup RecyclerView: featured card, section header and news rows in one recycling list.
+        // Each adapter keeps its own stable ids, so a refreshed feed moves rows instead of rebinding them
+        binding.latestNewsRecyclerView.setLayoutManager(new LinearLayoutManager(requireContext()));
+        ConcatAdapter.Config config = new ConcatAdapter.Config.Builder()
+                .setStableIdMode(ConcatAdapter.Config.StableIdMode.ISOLATED_STABLE_IDS)
+                .build();
+        binding.latestNewsRecyclerView.setAdapter(new ConcatAdapter(config,
+                featuredNewsAdapter,
+                new SectionHeaderAdapter(R.string.latest_news),
+                newsAdapter));
+        FeedImagePreloader.attach(binding.latestNewsRecyclerView, newsAdapter);
+        
+        // Prefetch the articles on screen once scrolling settles
+        binding.latestNewsRecyclerView.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrollStateChanged(@NonNull RecyclerView recyclerView, int newState) {
+                if (newState == RecyclerView.SCROLL_STATE_IDLE) {
+                    prefetchVisibleArticles();
+                }
+            }
+        });
+        
+        // Ẩn bàn phím khi người dùng tương tác với RecyclerView
+        binding.latestNewsRecyclerView.setOnTouchListener((v, event) -> {
+            // Kiểm tra xem ô tìm kiếm có đang có focus không
+            if (binding.searchEditText.hasFocus()) {
+                hideKeyboard();
+                binding.searchEditText.clearFocus();
+            }
+            return false; // Để RecyclerView vẫn xử lý sự kiện scroll
+        });
+
+        // Load user avatar
+        Glide.with(this)
+                .load(R.drawable.default_avatar)
+                .circleCrop()
+                .into(binding.profileImage);
+    }
+
+    // Set welcome text with user's name, the user may have logged in or out on another tab
+    private void updateWelcomeText() {
+        String userFullName = "Khách";
+        if (repository.isUserLoggedIn()) {
+            userFullName = repository.getCurrentUserName();
+        }
+        binding.welcomeText.setText(getString(R.string.welcome_user, userFullName));
+    }
+
+    private void setupListeners() {
+        // Tab selection listener
+        binding.tabLayout.addOnTabSelectedListener(new TabLayout.OnTabSelectedListener() {
+            @Override
+            public void onTabSelected(TabLayout.Tab tab) {
+                int position = tab.getPosition();
+                if (position >= 0 && position < TAB_CATEGORIES.length) {
+                    loadRssNewsByCategory(TAB_CATEGORIES[position]);
+                }
+            }
+
+            @Override
+            public void onTabUnselected(TabLayout.Tab tab) {}
+
+            @Override
+            public void onTabReselected(TabLayout.Tab tab) {}
+        });
+
+        // Swipe refresh listener
+        binding.swipeRefreshLayout.setOnRefreshListener(this::refreshCurrentFeed);
+        
+        // Ẩn bàn phím khi vuốt để làm mới
+        binding.swipeRefreshLayout.getViewTreeObserver().addOnScrollChangedListener(() -> {
+            if (binding.searchEditText.hasFocus()) {
+                hideKeyboard();
+                binding.searchEditText.clearFocus();
+            }
+        });
+
+        // Search listener
+        binding.searchEditText.setOnEditorActionListener((v, actionId, event) -> {
+            String query = v.getText().toString().trim();
+            if (!query.isEmpty()) {
+                searchNews(query);
+                
+                // Ẩn bàn phím sau khi tìm kiếm
+                hideKeyboard();
+                
+                // Xóa focus khỏi EditText
+                v.clearFocus();
+            }
+            return true;
+        });
+    }
+
+    // Phương thức thiết lập sự kiện touch cho layout chính
+    private void setupTouchListenerToHideKeyboard() {
+        // Lấy layout chính của tab
+        View mainLayout = binding.getRoot();
+        
+        // Thêm sự kiện touch
+        mainLayout.setOnTouchListener((v, event) -> {
+            // Lấy view đang có focus
+            View currentFocus = requireActivity().getCurrentFocus();
+            
+            // Chỉ ẩn bàn phím khi currentFocus không phải null và không phải là ô tìm kiếm
+            if (currentFocus != null && currentFocus.getId() != binding.searchEditText.getId()) {
+                // Ẩn bàn phím
+                hideKeyboard();
+                // Xóa focus
+                currentFocus.clearFocus();
+            }
+            
+            return false; // Cho phép các sự kiện touch khác tiếp tục xử lý
+        });
+    }
+    
+    // Phương thức tiện ích để ẩn bàn phím
+    private void hideKeyboard() {
+        InputMethodManager imm = (InputMethodManager) requireContext().getSystemService(Context.INPUT_METHOD_SERVICE);
+        View currentFocusView = requireActivity().getCurrentFocus();
+        if (currentFocusView != null) {
+            imm.hideSoftInputFromWindow(currentFocusView.getWindowToken(), 0);
+        }
+    }
+
+    // Load the feed of the selected tab, skipped by RssService while it is still fresh
+    private void loadRssNews() {
+        loadFeed(currentFeedUrl, false);
+    }
+    
+    // Pull to refresh always asks the network
+    private void refreshCurrentFeed() {
+        loadFeed(currentFeedUrl, true);
+    }
+    
+    // Load RSS news by category. A tab already in memory is shown at once,
+    // then RssService revalidates it in the background once its freshness TTL has passed
+    private void loadRssNewsByCategory(String category) {
+        String categoryUrl = getCategoryUrl(category);
+        currentFeedUrl = categoryUrl;
+        List<RssNewsItem> cachedItems = FeedFetcher.getInstance().getCachedItems(categoryUrl);
+        boolean shown = cachedItems != null && !cachedItems.isEmpty();
+        if (shown) {
+            showNews(cachedItems);
+        }
+        loadFeed(categoryUrl, false, !shown);
+    }
+    
+    private static String getCategoryUrl(String category) {
+        return "https://vnexpress.net/rss/" + category + ".rss";
+    }
+    
+    // Fetch the other tabs in the background once the first list is on screen
+    private void prefetchTabs() {
+        List<String> urls = new ArrayList<>();
+        for (String category : TAB_CATEGORIES) {
+            urls.add(getCategoryUrl(category));
+        }
+        FeedPrefetcher.getInstance(requireContext()).prefetch(urls);
+    }
+    
+    // Fetch a feed, replacing any fetch still running for the previous tab
+    private void loadFeed(String feedUrl, boolean forceRefresh) {
+        loadFeed(feedUrl, forceRefresh, true);
+    }
+    
+    /**
+     * @param showProgress Show the refresh indicator, false when the list already shows the feed
+     */
+    private void loadFeed(String feedUrl, boolean forceRefresh, boolean showProgress) {
+        binding.swipeRefreshLayout.setRefreshing(showProgress);
+        
+        rssService.fetchNewsData(HOME_FEED_TAG, feedUrl, forceRefresh, new RssService.OnFetchDataListener() {
+            @Override
+            public void onFetchDataSuccess(List<RssNewsItem> items) {
+                if (items != null && !items.isEmpty()) {
+                    showNews(items);
+                    
+                    // Keep the snapshot shown at the next cold start current
+                    if (RSS_FEED_URL.equals(feedUrl)) {
+                        FeedSnapshot snapshot = FeedSnapshot.getInstance(requireContext());
+                        IoScheduler.getInstance().submit(IoScheduler.Lane.BACKGROUND_PREFETCH,
+                                () -> snapshot.write(feedUrl, items));
+                    }
+                    
+                    // Warm up the other tabs after the first frame with real content
+                    binding.getRoot().post(HomeFragment.this::prefetchTabs);
+                }
+                binding.swipeRefreshLayout.setRefreshing(false);
+            }
+
+            @Override
+            public void onFetchDataFailure(Exception e) {
+                // A failed background revalidation keeps the list shown without an error
+                if (showProgress) {
+                    Toast.makeText(requireContext(), 
+                            "Lỗi khi tải tin tức: " + e.getMessage(), 
+                            Toast.LENGTH_SHORT).show();
+                }
+                binding.swipeRefreshLayout.setRefreshing(false);
+            }
+        });
+    }
+
+    // Show a feed in the list and its first item in the featured card
+    private void showNews(List<RssNewsItem> items) {
+        // Update the adapter with new data, only changed rows are rebound
+        newsList.clear();
+        newsList.addAll(items);
+        newsAdapter.updateNewsList(items);
+        
+        // Update the featured news with the first item
+        RssNewsItem featuredNews = items.get(0);
+        updateFeaturedNews(featuredNews);
+        
+        // The featured card and the first rows are what the user sees first
+        ArticlePrefetcher.getInstance(requireContext()).prefetch(items);
+    }
+    
+    // Prefetch the articles of the rows currently on screen
+    private void prefetchVisibleArticles() {
+        RecyclerView recyclerView = binding.latestNewsRecyclerView;
+        LinearLayoutManager layoutManager = (LinearLayoutManager) recyclerView.getLayoutManager();
+        ConcatAdapter adapter = (ConcatAdapter) recyclerView.getAdapter();
+        if (layoutManager == null || adapter == null || newsList.isEmpty()) {
+            return;
+        }
+        
+        int first = layoutManager.findFirstVisibleItemPosition();
+        int last = layoutManager.findLastVisibleItemPosition();
+        if (first == RecyclerView.NO_POSITION) {
+            return;
+        }
+        
+        List<RssNewsItem> visibleItems = new ArrayList<>();
+        for (int position = first; position <= last; position++) {
+            Pair<RecyclerView.Adapter<? extends RecyclerView.ViewHolder>, Integer> wrapped =
+                    adapter.getWrappedAdapterAndPosition(position);
+            if (wrapped.first == featuredNewsAdapter) {
+                visibleItems.add(newsList.get(0));
+            } else if (wrapped.first == newsAdapter) {
+                visibleItems.add(newsAdapter.getNewsItem(wrapped.second));
+            }
+        }
+        ArticlePrefetcher.getInstance(requireContext()).prefetch(visibleItems);
+    }
+
+    // Update the featured news card with the provided news item
+    private void updateFeaturedNews(RssNewsItem news) {
+        featuredNewsAdapter.setFeaturedNews(news);
+    }
+
+    private void searchNews(String query) {
+        // Đảm bảo query không rỗng
+        if (query == null || query.trim().isEmpty()) {
+            Toast.makeText(requireContext(), "Vui lòng nhập từ khóa tìm kiếm", Toast.LENGTH_SHORT).show();
+            return;
+        }
+        
+        // Implement search functionality - filter the current list
+        if (newsList != null && !newsList.isEmpty()) {
+            List<RssNewsItem> filteredList = new ArrayList<>();
+            
+            for (RssNewsItem item : newsList) {
+                if (item.getTitle().toLowerCase().contains(query.toLowerCase()) || 
+                    item.getDescription().toLowerCase().contains(query.toLowerCase())) {
+                    filteredList.add(item);
+                }
+            }
+            
+            if (filteredList.isEmpty()) {
+                Toast.makeText(requireContext(), "Không tìm thấy kết quả cho: " + query, Toast.LENGTH_SHORT).show();
+                
+                // Không xóa nội dung ô tìm kiếm để người dùng có thể sửa
+            } else {
+                newsAdapter.updateNewsList(filteredList);
+                Toast.makeText(requireContext(), "Tìm thấy " + filteredList.size() + " kết quả", Toast.LENGTH_SHORT).show();
+                
+                // Xóa nội dung ô tìm kiếm vì tìm kiếm thành công
+                binding.searchEditText.setText("");
+            }
+        } else {
+            Toast.makeText(requireContext(), "Không có dữ liệu tin tức để tìm kiếm", Toast.LENGTH_SHORT).show();
+        }
+    }
+
+    @Override
+    public void onResume() {
+        super.onResume();
+        // Refresh data when the screen comes back, served from memory within the freshness window.
+        // A hidden tab waits, switching tabs never loads anything
+        if (!isHidden()) {
+            loadRssNews();
+        }
+    }
+
+    @Override
+    public void onHiddenChanged(boolean hidden) {
+        super.onHiddenChanged(hidden);
+        if (!hidden) {
+            updateWelcomeText();
+        }
+    }
+
+    @Override
+    public void onDestroyView() {
+        super.onDestroyView();
+        // Drop pending fetches so their results are never delivered to a dead screen
+        rssService.cancelAll();
+    }
+}
@@ -141,9 +141,9 @@ public class LoginActivity extends AppCompatActivity {
         runOnUiThread(() -> {
             showLoadingDialog(false);
             
-            // Đăng nhập thành công, chuyển về trang chính
+            // Đăng nhập thành công, quay về màn hình chính và mở trang cá nhân
             Toast.makeText(LoginActivity.this, "Đăng nhập thành công", Toast.LENGTH_SHORT).show();
-            startActivity(new Intent(LoginActivity.this, HomeActivity.class));
+            startActivity(MainActivity.newIntent(LoginActivity.this, R.id.navigation_profile));
             finish();
         });
     }
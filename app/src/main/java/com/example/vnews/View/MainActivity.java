@@ -1,18 +1,81 @@
 package com.example.vnews.View;
 
+import android.content.Context;
+import android.content.Intent;
 import android.os.Bundle;
+
 import androidx.appcompat.app.AppCompatActivity;
+import androidx.databinding.DataBindingUtil;
+
 import com.example.vnews.R;
-import com.example.vnews.Utils.EyeProtectionManager;
+import com.example.vnews.databinding.ActivityMainBinding;
 
+/**
+ * Màn hình chính chứa các tab Trang chủ, Khám phá và Cá nhân.
+ * Các tab là Fragment được giữ lại trong BottomNavMenu, chuyển tab không tạo lại màn hình.
+ */
 public class MainActivity extends AppCompatActivity {
 
+    // Tab cần mở, ví dụ trang cá nhân sau khi đăng nhập
+    private static final String EXTRA_TAB = "tab";
+    private static final String STATE_TAB = "current_tab";
+
+    private ActivityMainBinding binding;
+    private BottomNavMenu bottomNavMenu;
+
+    /**
+     * Tạo Intent quay về màn hình chính và mở một tab
+     */
+    public static Intent newIntent(Context context, int menuItemId) {
+        Intent intent = new Intent(context, MainActivity.class);
+        intent.putExtra(EXTRA_TAB, menuItemId);
+        intent.setFlags(Intent.FLAG_ACTIVITY_CLEAR_TOP | Intent.FLAG_ACTIVITY_SINGLE_TOP);
+        return intent;
+    }
+
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
-        setContentView(R.layout.activity_main);
-        
-        // Áp dụng chế độ bảo vệ mắt nếu được bật
-        EyeProtectionManager.applyEyeProtectionIfEnabled(this);
+        binding = DataBindingUtil.setContentView(this, R.layout.activity_main);
+
+        int tab = savedInstanceState != null
+                ? savedInstanceState.getInt(STATE_TAB, R.id.navigation_home)
+                : getIntent().getIntExtra(EXTRA_TAB, R.id.navigation_home);
+
+        // Thiết lập BottomNavigationView
+        bottomNavMenu = BottomNavMenu.setup(this, binding.bottomNavigationView, R.id.fragmentContainer, tab);
+    }
+
+    @Override
+    protected void onNewIntent(Intent intent) {
+        super.onNewIntent(intent);
+        if (intent.hasExtra(EXTRA_TAB)) {
+            bottomNavMenu.select(intent.getIntExtra(EXTRA_TAB, R.id.navigation_home));
+        }
+    }
+
+    /**
+     * Đăng xuất: quay về trang chủ và bỏ trang cá nhân của người dùng cũ
+     */
+    public void onLoggedOut() {
+        bottomNavMenu.select(R.id.navigation_home);
+        bottomNavMenu.reset(R.id.navigation_profile);
+    }
+
+    @Override
+    protected void onSaveInstanceState(Bundle outState) {
+        super.onSaveInstanceState(outState);
+        outState.putInt(STATE_TAB, bottomNavMenu.getCurrentMenuItemId());
+    }
+
+    @Override
+    @Deprecated
+    public void onBackPressed() {
+        // Nút quay lại ở tab khác đưa về trang chủ trước khi thoát
+        if (bottomNavMenu.getCurrentMenuItemId() != R.id.navigation_home) {
+            bottomNavMenu.select(R.id.navigation_home);
+            return;
+        }
+        super.onBackPressed();
     }
-}
\ No newline at end of file
+}
@@ -1,51 +1,78 @@
 package com.example.vnews.View;
 
+import android.content.Context;
 import android.content.Intent;
 import android.net.Uri;
 import android.os.Bundle;
+import android.text.TextUtils;
 import android.util.Log;
 import android.view.MenuItem;
 import android.view.View;
-import android.webkit.WebSettings;
-import android.webkit.WebView;
-import android.webkit.WebViewClient;
 import android.widget.Toast;
 
 import androidx.annotation.NonNull;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.databinding.DataBindingUtil;
+import androidx.recyclerview.widget.ConcatAdapter;
+import androidx.recyclerview.widget.LinearLayoutManager;
 
-import com.bumptech.glide.Glide;
+import com.example.vnews.Adapter.ArticleBlockAdapter;
+import com.example.vnews.Adapter.SingleViewAdapter;
+import com.example.vnews.Model.ArticleBlock;
+import com.example.vnews.Model.RssNewsItem;
 import com.example.vnews.R;
 import com.example.vnews.Utils.ArticleScraper;
-import com.example.vnews.Utils.EyeProtectionManager;
+import com.example.vnews.Utils.ImageUrlPolicy;
 import com.example.vnews.databinding.ActivityNewsDetailBinding;
+import com.example.vnews.databinding.LayoutArticleFooterBinding;
+import com.example.vnews.databinding.LayoutArticleHeaderBinding;
 
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
-import java.util.Date;
+import org.jsoup.Jsoup;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Collections;
+import java.util.List;
 import java.util.Locale;
-import java.util.concurrent.Executor;
-import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 public class NewsDetailActivity extends AppCompatActivity {
     
     private static final String TAG = "NewsDetailActivity";
+    private static final DateTimeFormatter DATE_FORMATTER =
+            DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm", new Locale("vi", "VN")).withZone(ZoneId.systemDefault());
     private ActivityNewsDetailBinding binding;
-    private final Executor executor = Executors.newSingleThreadExecutor();
+    private LayoutArticleHeaderBinding headerBinding;
+    private LayoutArticleFooterBinding footerBinding;
+    private ArticleBlockAdapter blockAdapter;
+    
+    // Article load in progress, cancelled when the screen is destroyed
+    private Future<?> contentRequest;
+    
+    /**
+     * Tạo Intent mở bài viết từ một mục RSS
+     */
+    public static Intent newIntent(Context context, RssNewsItem news) {
+        Intent intent = new Intent(context, NewsDetailActivity.class);
+        intent.putExtra("article_title", news.getTitle());
+        intent.putExtra("article_url", news.getLink());
+        intent.putExtra("article_image", news.getImageUrl());
+        intent.putExtra("article_description", news.getDescription());
+        intent.putExtra("article_pubDate", news.getPubDate());
+        intent.putExtra("article_publishedAt", news.getPublishedAt());
+        return intent;
+    }
     
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
         binding = DataBindingUtil.setContentView(this, R.layout.activity_news_detail);
         
-        // Apply eye protection if it's enabled
-        EyeProtectionManager.applyEyeProtectionIfEnabled(this);
-        
-        // Thiết lập WebView
-        setupWebView();
+        // Thiết lập danh sách nội dung bài viết
+        setupArticleList();
         
         // Thiết lập thanh công cụ
         setSupportActionBar(binding.toolbar);
@@ -62,10 +89,11 @@ public class NewsDetailActivity extends AppCompatActivity {
             String imageUrl = intent.getStringExtra("article_image");
             String description = intent.getStringExtra("article_description");
             String pubDate = intent.getStringExtra("article_pubDate");
+            long publishedAt = intent.getLongExtra("article_publishedAt", 0);
             
             // Hiển thị tiêu đề
             if (title != null) {
-                binding.newsTitle.setText(title);
+                headerBinding.newsTitle.setText(title);
                 // Đặt tiêu đề cho thanh công cụ
                 if (getSupportActionBar() != null) {
                     getSupportActionBar().setTitle("Tin tức");
@@ -73,99 +101,69 @@ public class NewsDetailActivity extends AppCompatActivity {
             }
             
             // Định dạng và hiển thị ngày xuất bản
-            if (pubDate != null) {
-                binding.newsDate.setText(formatPublishedDate(pubDate));
+            if (publishedAt > 0) {
+                headerBinding.newsDate.setText(formatPublishedDate(publishedAt));
+            } else if (pubDate != null) {
+                headerBinding.newsDate.setText(pubDate);
             } else {
-                binding.newsDate.setVisibility(View.GONE);
+                headerBinding.newsDate.setVisibility(View.GONE);
             }
             
             // Hiển thị hình ảnh chính
             if (imageUrl != null && !imageUrl.isEmpty()) {
-                Glide.with(this)
-                        .load(imageUrl)
-                        .placeholder(R.drawable.placeholder_image)
-                        .error(R.drawable.placeholder_image)
-                        .into(binding.newsImage);
+                int imageWidth = getResources().getDisplayMetrics().widthPixels;
+                ImageUrlPolicy.load(this, imageUrl, imageWidth, R.drawable.placeholder_image)
+                        .into(headerBinding.newsImage);
             } else {
-                binding.newsImage.setVisibility(View.GONE);
+                headerBinding.newsImage.setVisibility(View.GONE);
             }
             
-            // Hiển thị trạng thái đang tải
-            binding.progressBar.setVisibility(View.VISIBLE);
-            binding.webView.setVisibility(View.GONE);
-            
             // Tải nội dung đầy đủ nếu có URL
             if (url != null && !url.isEmpty()) {
                 // Tải nội dung bằng JSoup trong luồng nền
                 loadFullArticleContent(url);
                 
                 // Thiết lập nút để mở bài viết đầy đủ trong trình duyệt
-                binding.readMoreButton.setOnClickListener(v -> {
+                footerBinding.readMoreButton.setOnClickListener(v -> {
                     Intent browserIntent = new Intent(Intent.ACTION_VIEW, Uri.parse(url));
                     startActivity(browserIntent);
                 });
             } else {
                 // Nếu không có URL, chỉ hiển thị mô tả từ RSS
-                binding.progressBar.setVisibility(View.GONE);
-                binding.webView.setVisibility(View.VISIBLE);
-                
                 if (description != null) {
-                    // Trích xuất nội dung từ CDATA nếu có
-                    String content = extractContentFromCDATA(description);
+                    // Trích xuất nội dung từ CDATA nếu có, ảnh đã hiển thị ở đầu trang
+                    String content = Jsoup.parse(extractContentFromCDATA(description)).text();
                     
                     // Hiển thị nội dung
-                    loadHtmlContent(content);
-                } else {
-                    binding.webView.setVisibility(View.GONE);
+                    showBlocks(Collections.singletonList(ArticleBlock.paragraph(TextUtils.htmlEncode(content))));
                 }
                 
-                binding.readMoreButton.setVisibility(View.GONE);
+                footerBinding.readMoreButton.setVisibility(View.GONE);
             }
         }
     }
     
     /**
-     * Thiết lập WebView
+     * Thiết lập danh sách: phần đầu trang, các khối nội dung và phần cuối trang
      */
-    private void setupWebView() {
-        WebView webView = binding.webView;
-        webView.setWebViewClient(new WebViewClient() {
-            @Override
-            public void onPageFinished(WebView view, String url) {
-                // Ẩn trạng thái đang tải khi trang đã tải xong
-                binding.progressBar.setVisibility(View.GONE);
-                binding.webView.setVisibility(View.VISIBLE);
-            }
-        });
+    private void setupArticleList() {
+        headerBinding = LayoutArticleHeaderBinding.inflate(getLayoutInflater(), binding.articleRecyclerView, false);
+        footerBinding = LayoutArticleFooterBinding.inflate(getLayoutInflater(), binding.articleRecyclerView, false);
+        blockAdapter = new ArticleBlockAdapter(this);
         
-        WebSettings webSettings = webView.getSettings();
-        webSettings.setJavaScriptEnabled(false); // Tắt JavaScript vì lý do bảo mật
-        webSettings.setLoadWithOverviewMode(true);
-        webSettings.setUseWideViewPort(true);
-        webSettings.setSupportZoom(true);
-        webSettings.setBuiltInZoomControls(true);
-        webSettings.setDisplayZoomControls(false);
+        binding.articleRecyclerView.setLayoutManager(new LinearLayoutManager(this));
+        binding.articleRecyclerView.setAdapter(new ConcatAdapter(
+                new SingleViewAdapter(headerBinding.getRoot()),
+                blockAdapter,
+                new SingleViewAdapter(footerBinding.getRoot())));
     }
     
     /**
-     * Tải nội dung HTML vào WebView
+     * Hiển thị các khối nội dung bài viết
      */
-    private void loadHtmlContent(String htmlContent) {
-        // Tạo HTML đầy đủ với CSS cho phần hiển thị
-        String styledHtml = 
-                "<html><head>" +
-                "<meta name=\"viewport\" content=\"width=device-width, initial-scale=1.0\">" +
-                "<style>" +
-                "body { font-family: 'Roboto', Arial, sans-serif; color: #333; line-height: 1.6; padding: 8px; }" +
-                "img { max-width: 100%; height: auto; display: block; margin: 12px auto; }" +
-                "figcaption { color: #666; font-size: 14px; font-style: italic; text-align: center; margin-bottom: 16px; }" +
-                "p { margin-bottom: 16px; }" +
-                "h2, h3 { margin-top: 20px; margin-bottom: 10px; }" +
-                "</style></head><body>" +
-                htmlContent +
-                "</body></html>";
-        
-        binding.webView.loadDataWithBaseURL(null, styledHtml, "text/html", "utf-8", null);
+    private void showBlocks(List<ArticleBlock> blocks) {
+        headerBinding.progressBar.setVisibility(View.GONE);
+        blockAdapter.setBlocks(blocks);
     }
     
     /**
@@ -173,35 +171,19 @@ public class NewsDetailActivity extends AppCompatActivity {
      */
     private void loadFullArticleContent(String url) {
         // Hiển thị trạng thái đang tải
-        binding.progressBar.setVisibility(View.VISIBLE);
-        binding.webView.setVisibility(View.GONE);
+        headerBinding.progressBar.setVisibility(View.VISIBLE);
         
-        executor.execute(() -> {
+        // Lấy nội dung bài viết bằng ArticleScraper trên luồng ưu tiên cao nhất của IoScheduler
+        contentRequest = ArticleScraper.loadArticleContent(this, url, blocks -> {
             try {
-                // Lấy nội dung bài viết bằng ArticleScraper
-                final String htmlContent = ArticleScraper.getArticleContent(url);
+                // Hiển thị nội dung
+                showBlocks(blocks);
                 
-                // Cập nhật UI trên luồng chính
-                runOnUiThread(() -> {
-                    try {
-                        binding.progressBar.setVisibility(View.GONE);
-                        binding.webView.setVisibility(View.VISIBLE);
-                        
-                        // Hiển thị nội dung
-                        loadHtmlContent(htmlContent);
-                        
-                        // Ghi log thành công
-                        Log.d(TAG, "Article content loaded successfully");
-                    } catch (Exception e) {
-                        Log.e(TAG, "Error displaying HTML content", e);
-                        displayErrorMessage();
-                    }
-                });
+                // Ghi log thành công
+                Log.d(TAG, "Article content loaded successfully");
             } catch (Exception e) {
-                Log.e(TAG, "Error loading full article content", e);
-                
-                // Cập nhật UI trên luồng chính
-                runOnUiThread(this::displayErrorMessage);
+                Log.e(TAG, "Error displaying article content", e);
+                displayErrorMessage();
             }
         });
     }
@@ -210,27 +192,15 @@ public class NewsDetailActivity extends AppCompatActivity {
      * Hiển thị thông báo lỗi khi nội dung không thể tải
      */
     private void displayErrorMessage() {
-        binding.progressBar.setVisibility(View.GONE);
-        binding.webView.setVisibility(View.VISIBLE);
-        loadHtmlContent("<p>" + getString(R.string.error_loading_content) + "</p>");
+        showBlocks(Collections.singletonList(ArticleBlock.paragraph(getString(R.string.error_loading_content))));
         Toast.makeText(this, R.string.error_loading_content, Toast.LENGTH_SHORT).show();
     }
     
     /**
-     * Định dạng ngày xuất bản từ định dạng RSS sang định dạng dễ đọc hơn
+     * Định dạng thời điểm xuất bản (đã được phân tích sẵn khi đọc RSS) sang định dạng dễ đọc hơn
      */
-    private String formatPublishedDate(String pubDateStr) {
-        try {
-            // Định dạng ngày RSS: EEE, dd MMM yyyy HH:mm:ss Z
-            SimpleDateFormat inputFormat = new SimpleDateFormat("EEE, dd MMM yyyy HH:mm:ss Z", Locale.ENGLISH);
-            SimpleDateFormat outputFormat = new SimpleDateFormat("dd/MM/yyyy HH:mm", new Locale("vi", "VN"));
-            
-            Date date = inputFormat.parse(pubDateStr);
-            return date != null ? outputFormat.format(date) : pubDateStr;
-        } catch (ParseException e) {
-            Log.e(TAG, "Error parsing date: " + pubDateStr, e);
-            return pubDateStr;
-        }
+    private static String formatPublishedDate(long publishedAt) {
+        return DATE_FORMATTER.format(Instant.ofEpochMilli(publishedAt));
     }
     
     /**
@@ -248,6 +218,15 @@ public class NewsDetailActivity extends AppCompatActivity {
         return description;
     }
     
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        // Không giao kết quả cho màn hình đã đóng
+        if (contentRequest != null) {
+            contentRequest.cancel(false);
+        }
+    }
+    
     @Override
     public boolean onOptionsItemSelected(@NonNull MenuItem item) {
         // Xử lý khi nhấn nút quay lại
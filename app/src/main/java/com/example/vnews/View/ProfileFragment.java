@@ -1,65 +1,67 @@
 package com.example.vnews.View;
 
 import android.content.Context;
-import android.content.Intent;
 import android.net.ConnectivityManager;
 import android.net.NetworkInfo;
 import android.os.Bundle;
 import android.os.Handler;
 import android.os.Looper;
 import android.util.Log;
+import android.view.LayoutInflater;
 import android.view.View;
+import android.view.ViewGroup;
 import android.widget.CompoundButton;
 import android.widget.Toast;
 
-import androidx.appcompat.app.AppCompatActivity;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.appcompat.widget.SwitchCompat;
 import androidx.databinding.DataBindingUtil;
+import androidx.fragment.app.Fragment;
 
 import com.bumptech.glide.Glide;
 import com.example.vnews.Model.users;
 import com.example.vnews.R;
 import com.example.vnews.Repository.FirebaseRepository;
 import com.example.vnews.Utils.EyeProtectionManager;
-import com.example.vnews.databinding.ActivityProfileBinding;
+import com.example.vnews.databinding.FragmentProfileBinding;
 
 import java.util.concurrent.atomic.AtomicBoolean;
 
-public class ProfileActivity extends AppCompatActivity {
+/**
+ * Tab Cá nhân: thông tin người dùng đã đăng nhập và cài đặt, được giữ lại khi chuyển sang tab khác
+ */
+public class ProfileFragment extends Fragment {
 
-    private static final String TAG = "ProfileActivity";
+    private static final String TAG = "ProfileFragment";
     private static final int FIREBASE_TIMEOUT_MS = 10000; // 10 seconds timeout
 
-    private ActivityProfileBinding binding;
+    private FragmentProfileBinding binding;
     private FirebaseRepository repository;
     private Handler timeoutHandler;
     
+    @Nullable
     @Override
-    protected void onCreate(Bundle savedInstanceState) {
-        super.onCreate(savedInstanceState);
-        binding = DataBindingUtil.setContentView(this, R.layout.activity_profile);
-        
-        // Apply eye protection if enabled (must be done after setting content view)
-        EyeProtectionManager.applyEyeProtectionIfEnabled(this);
+    public View onCreateView(@NonNull LayoutInflater inflater, @Nullable ViewGroup container,
+                             @Nullable Bundle savedInstanceState) {
+        binding = DataBindingUtil.inflate(inflater, R.layout.fragment_profile, container, false);
+        return binding.getRoot();
+    }
+
+    @Override
+    public void onViewCreated(@NonNull View view, @Nullable Bundle savedInstanceState) {
+        super.onViewCreated(view, savedInstanceState);
         
         // Khởi tạo repository
-        repository = new FirebaseRepository();
+        repository = FirebaseRepository.getInstance();
         timeoutHandler = new Handler(Looper.getMainLooper());
         
-        // Thiết lập toolbar
-        setSupportActionBar(binding.toolbar);
-        if (getSupportActionBar() != null) {
-            getSupportActionBar().setDisplayHomeAsUpEnabled(true);
-            getSupportActionBar().setDisplayShowHomeEnabled(true);
-            getSupportActionBar().setTitle(R.string.profile);
-        }
+        // Thiết lập toolbar, tab gốc nên không có nút quay lại
+        binding.toolbar.setTitle(R.string.profile);
         
         // Setup Eye Protection Toggle
         setupEyeProtectionToggle();
         
-        // Thiết lập BottomNavigationView
-        setupBottomNavigation();
-        
         // Thiết lập nút thử lại
         binding.btnRetry.setOnClickListener(v -> loadUserProfile());
         
@@ -71,35 +73,27 @@ public class ProfileActivity extends AppCompatActivity {
         SwitchCompat eyeProtectionSwitch = binding.switchEyeProtection;
         
         // Set initial state based on saved preference
-        boolean isEyeProtectionEnabled = EyeProtectionManager.isEyeProtectionEnabled(this);
+        boolean isEyeProtectionEnabled = EyeProtectionManager.isEyeProtectionEnabled(requireContext());
         eyeProtectionSwitch.setChecked(isEyeProtectionEnabled);
         
         // Set listener for changes
         eyeProtectionSwitch.setOnCheckedChangeListener(new CompoundButton.OnCheckedChangeListener() {
             @Override
             public void onCheckedChanged(CompoundButton buttonView, boolean isChecked) {
-                // Save the new setting
-                EyeProtectionManager.setEyeProtectionEnabled(ProfileActivity.this, isChecked);
-                
-                // Apply the change immediately
-                EyeProtectionManager.applyEyeProtectionIfEnabled(ProfileActivity.this);
+                // Save the new setting, open windows pick it up from the change listener
+                EyeProtectionManager.setEyeProtectionEnabled(requireContext(), isChecked);
                 
                 // Show toast to confirm the change
                 String message = isChecked ? 
                         getString(R.string.eye_protection_enabled) : 
                         getString(R.string.eye_protection_disabled);
-                Toast.makeText(ProfileActivity.this, message, Toast.LENGTH_SHORT).show();
+                Toast.makeText(requireContext(), message, Toast.LENGTH_SHORT).show();
             }
         });
     }
     
-    private void setupBottomNavigation() {
-        // Sử dụng lớp BottomNavMenu để quản lý bottom navigation
-        BottomNavMenu.setup(this, binding.bottomNavigationView, R.id.navigation_profile);
-    }
-    
     private boolean isNetworkAvailable() {
-        ConnectivityManager connectivityManager = (ConnectivityManager) getSystemService(Context.CONNECTIVITY_SERVICE);
+        ConnectivityManager connectivityManager = (ConnectivityManager) requireContext().getSystemService(Context.CONNECTIVITY_SERVICE);
         NetworkInfo activeNetworkInfo = connectivityManager.getActiveNetworkInfo();
         return activeNetworkInfo != null && activeNetworkInfo.isConnected();
     }
@@ -145,7 +139,11 @@ public class ProfileActivity extends AppCompatActivity {
                         // Cancel the timeout
                         timeoutHandler.removeCallbacksAndMessages(null);
                         
-                        runOnUiThread(() -> {
+                        // Firestore gọi lại trên main thread, tab có thể đã bị bỏ sau khi đăng xuất
+                        if (binding == null) {
+                            return;
+                        }
+                        requireActivity().runOnUiThread(() -> {
                             binding.progressBar.setVisibility(View.GONE);
                             
                             if (user != null) {
@@ -183,7 +181,7 @@ public class ProfileActivity extends AppCompatActivity {
                                 
                                 // Tải avatar nếu có
                                 if (user.getAvtUrl() != null && !user.getAvtUrl().isEmpty()) {
-                                    Glide.with(ProfileActivity.this)
+                                    Glide.with(ProfileFragment.this)
                                             .load(user.getAvtUrl())
                                             .placeholder(R.drawable.default_avatar)
                                             .error(R.drawable.default_avatar)
@@ -208,14 +206,17 @@ public class ProfileActivity extends AppCompatActivity {
                         
                         Log.e(TAG, "Error loading user profile", e);
                         
-                        runOnUiThread(() -> {
+                        if (binding == null) {
+                            return;
+                        }
+                        requireActivity().runOnUiThread(() -> {
                             binding.progressBar.setVisibility(View.GONE);
                             
                             // Kiểm tra nếu lỗi do offline
                             if (e.getMessage() != null && e.getMessage().contains("offline")) {
                                 showOfflineMessage();
                             } else {
-                                Toast.makeText(ProfileActivity.this, 
+                                Toast.makeText(requireContext(), 
                                         "Lỗi khi tải thông tin: " + e.getMessage(), 
                                         Toast.LENGTH_SHORT).show();
                             }
@@ -226,15 +227,12 @@ public class ProfileActivity extends AppCompatActivity {
             
             // Thiết lập nút đăng xuất
             binding.buttonLogout.setOnClickListener(v -> {
-                // Đăng xuất và quay lại màn hình chính
+                // Đăng xuất và quay lại trang chủ
                 repository.logoutUser();
-                Toast.makeText(this, "Đã đăng xuất", Toast.LENGTH_SHORT).show();
+                Toast.makeText(requireContext(), "Đã đăng xuất", Toast.LENGTH_SHORT).show();
                 
-                // Chuyển hướng về HomeActivity
-                Intent intent = new Intent(ProfileActivity.this, HomeActivity.class);
-                intent.setFlags(Intent.FLAG_ACTIVITY_NEW_TASK | Intent.FLAG_ACTIVITY_CLEAR_TASK);
-                startActivity(intent);
-                finish();
+                // Chuyển về tab Trang chủ, trang cá nhân được tạo lại ở lần đăng nhập sau
+                ((MainActivity) requireActivity()).onLoggedOut();
             });
         }
     }
@@ -245,17 +243,12 @@ public class ProfileActivity extends AppCompatActivity {
     }
     
     @Override
-    protected void onDestroy() {
-        super.onDestroy();
+    public void onDestroyView() {
+        super.onDestroyView();
         // Clear any pending callbacks to prevent leaks
         if (timeoutHandler != null) {
             timeoutHandler.removeCallbacksAndMessages(null);
         }
-    }
-    
-    @Override
-    public boolean onSupportNavigateUp() {
-        onBackPressed();
-        return true;
+        binding = null;
     }
 }
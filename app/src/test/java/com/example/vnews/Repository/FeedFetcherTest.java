@@ -0,0 +1,176 @@
+package com.example.vnews.Repository;
+
+import com.example.vnews.Model.RssNewsItem;
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpServer;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.Assert.*;
+
+/**
+ * FeedFetcher against a local HTTP server. The body is one item per line, "title|link",
+ * read by a plain parser since the platform XML parser is not available in local tests.
+ */
+public class FeedFetcherTest {
+
+    private static final String ETAG = "\"v1\"";
+    private static final String LAST_MODIFIED = "Sat, 17 Oct 2026 08:00:00 GMT";
+
+    private HttpServer server;
+    private String url;
+    private FeedFetcher fetcher;
+
+    // What the server answers next
+    private volatile int status = 200;
+    private volatile String body = "Tin một|https://vnexpress.net/1.html\nTin hai|https://vnexpress.net/2.html";
+    private volatile boolean sendValidators = true;
+
+    // Request headers received, one entry per request
+    private final List<Headers> requests = new CopyOnWriteArrayList<>();
+
+    @Before
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/rss/tin-moi-nhat.rss", exchange -> {
+            requests.add(exchange.getRequestHeaders());
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            if (sendValidators) {
+                exchange.getResponseHeaders().set("ETag", ETAG);
+                exchange.getResponseHeaders().set("Last-Modified", LAST_MODIFIED);
+            }
+            if (status == 200) {
+                exchange.sendResponseHeaders(200, bytes.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(bytes);
+                }
+            } else {
+                exchange.sendResponseHeaders(status, -1);
+                exchange.close();
+            }
+        });
+        server.start();
+        url = "http://127.0.0.1:" + server.getAddress().getPort() + "/rss/tin-moi-nhat.rss";
+        fetcher = new FeedFetcher(FeedFetcherTest::parseLines);
+    }
+
+    @After
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    public void okResponseKeepsItemsAndValidators() throws IOException {
+        List<RssNewsItem> items = fetcher.fetch(url);
+
+        assertEquals(2, items.size());
+        assertEquals("Tin một", items.get(0).getTitle());
+        assertEquals("https://vnexpress.net/2.html", items.get(1).getLink());
+
+        FeedFetcher.CachedFeed cached = fetcher.getCachedFeed(url);
+        assertEquals(ETAG, cached.getEtag());
+        assertEquals(LAST_MODIFIED, cached.getLastModified());
+        assertSame(items, cached.getItems());
+
+        // Nothing to revalidate on the first request
+        assertNull(requests.get(0).getFirst("If-None-Match"));
+        assertNull(requests.get(0).getFirst("If-Modified-Since"));
+    }
+
+    @Test
+    public void notModifiedReusesCachedItems() throws IOException {
+        List<RssNewsItem> first = fetcher.fetch(url);
+        long firstFetchedAt = fetcher.getCachedFeed(url).getFetchedAt();
+
+        status = 304;
+        List<RssNewsItem> second = fetcher.fetch(url);
+
+        // Same list, not parsed again, with both validators replayed
+        assertSame(first, second);
+        assertEquals(ETAG, requests.get(1).getFirst("If-None-Match"));
+        assertEquals(LAST_MODIFIED, requests.get(1).getFirst("If-Modified-Since"));
+        assertTrue(fetcher.getCachedFeed(url).getFetchedAt() >= firstFetchedAt);
+        assertEquals(ETAG, fetcher.getCachedFeed(url).getEtag());
+    }
+
+    @Test
+    public void changedFeedReplacesCachedItems() throws IOException {
+        fetcher.fetch(url);
+
+        body = "Tin ba|https://vnexpress.net/3.html";
+        List<RssNewsItem> items = fetcher.fetch(url);
+
+        assertEquals(1, items.size());
+        assertEquals("Tin ba", items.get(0).getTitle());
+        assertSame(items, fetcher.getCachedItems(url));
+    }
+
+    @Test
+    public void validatorsAreOnlyReplayedWhenSent() throws IOException {
+        sendValidators = false;
+        fetcher.fetch(url);
+        fetcher.fetch(url);
+
+        assertNull(requests.get(1).getFirst("If-None-Match"));
+        assertNull(requests.get(1).getFirst("If-Modified-Since"));
+    }
+
+    @Test
+    public void serverErrorKeepsCachedItems() throws IOException {
+        List<RssNewsItem> items = fetcher.fetch(url);
+
+        status = 500;
+        try {
+            fetcher.fetch(url);
+            fail("Expected an IOException for HTTP 500");
+        } catch (IOException e) {
+            assertTrue(e.getMessage().contains("500"));
+        }
+        assertSame(items, fetcher.getCachedItems(url));
+    }
+
+    @Test
+    public void notModifiedWithoutCacheIsAnError() {
+        status = 304;
+        try {
+            fetcher.fetch(url);
+            fail("Expected an IOException for an unexpected 304");
+        } catch (IOException e) {
+            assertTrue(e.getMessage().contains("304"));
+        }
+        assertNull(fetcher.getCachedItems(url));
+    }
+
+    @Test(expected = IOException.class)
+    public void unreachableServerThrows() throws IOException {
+        server.stop(0);
+        fetcher.fetch(url);
+    }
+
+    private static List<RssNewsItem> parseLines(InputStream in) throws IOException {
+        List<RssNewsItem> items = new ArrayList<>();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            String[] parts = line.split("\\|", 2);
+            if (parts.length == 2) {
+                items.add(new RssNewsItem(parts[0], "", "", parts[1], null));
+            }
+        }
+        return items;
+    }
+}
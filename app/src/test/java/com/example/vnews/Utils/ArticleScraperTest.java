@@ -0,0 +1,111 @@
+package com.example.vnews.Utils;
+
+import com.example.vnews.Model.ArticleBlock;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Extraction of saved VnExpress layouts in src/test/resources/articles
+ */
+public class ArticleScraperTest {
+
+    private static final String URL = "https://vnexpress.net/bai-viet-1.html";
+
+    @Test
+    public void extractsArticleFckDetail() throws IOException {
+        List<ArticleBlock> blocks = extract("article_fck_detail.html");
+
+        assertEquals(5, blocks.size());
+        assertParagraph("Đoạn mở đầu với <strong>chữ đậm</strong>.", blocks.get(0));
+
+        assertEquals(ArticleBlock.Type.HEADING, blocks.get(1).getType());
+        assertEquals("Tiêu đề phụ", blocks.get(1).getText());
+        assertEquals(2, blocks.get(1).getHeadingLevel());
+
+        // data-src wins over the placeholder src and is made absolute
+        assertEquals(ArticleBlock.Type.IMAGE, blocks.get(2).getType());
+        assertEquals("https://i1-vnexpress.vnecdn.net/2024/01/01/anh.jpg", blocks.get(2).getImageUrl());
+        assertEquals("Chú thích ảnh", blocks.get(2).getText());
+
+        // Empty items are dropped
+        assertEquals(ArticleBlock.Type.LIST, blocks.get(3).getType());
+        assertEquals(Arrays.asList("Ý thứ nhất", "Ý thứ hai"), blocks.get(3).getItems());
+
+        // The related box is skipped, and the comment box after the article is never read
+        assertParagraph("Đoạn kết, a &lt; b.", blocks.get(4));
+    }
+
+    @Test
+    public void extractsDivFckDetail() throws IOException {
+        List<ArticleBlock> blocks = extract("div_fck_detail.html");
+
+        assertEquals(5, blocks.size());
+        assertParagraph("Đoạn một.", blocks.get(0));
+
+        assertEquals(ArticleBlock.Type.TABLE, blocks.get(1).getType());
+        assertTrue(blocks.get(1).getText().startsWith("<table class=\"tplCaption\">"));
+        assertTrue(blocks.get(1).getText().contains("bang.jpg"));
+
+        assertEquals(ArticleBlock.Type.LIST, blocks.get(2).getType());
+        assertEquals(Arrays.asList("Bước một", "Bước hai"), blocks.get(2).getItems());
+
+        assertEquals(ArticleBlock.Type.HEADING, blocks.get(3).getType());
+        assertEquals("Mục nhỏ", blocks.get(3).getText());
+        assertEquals(3, blocks.get(3).getHeadingLevel());
+
+        assertParagraph("Đoạn hai.", blocks.get(4));
+    }
+
+    @Test
+    public void extractsContentDetailParagraphsAndFigures() throws IOException {
+        List<ArticleBlock> blocks = extract("content_detail.html");
+
+        // Only p and figure children are kept from .content-detail
+        assertEquals(3, blocks.size());
+        assertParagraph("Mô tả video.", blocks.get(0));
+        assertEquals(ArticleBlock.Type.IMAGE, blocks.get(1).getType());
+        assertEquals("https://i1-vnexpress.vnecdn.net/video.jpg", blocks.get(1).getImageUrl());
+        assertEquals("Ảnh video", blocks.get(1).getText());
+        assertParagraph("Nội dung video.", blocks.get(2));
+    }
+
+    @Test
+    public void prefersArticleFckDetailOverEarlierRegions() throws IOException {
+        List<ArticleBlock> blocks = extract("region_priority.html");
+
+        assertEquals(1, blocks.size());
+        assertParagraph("Nội dung chính.", blocks.get(0));
+    }
+
+    @Test
+    public void pageWithoutContentGivesNull() throws IOException {
+        String page = "<html><body><div class=\"other\"><p>Không có nội dung</p></div></body></html>";
+        assertNull(ArticleScraper.extract(new StringReader(page), URL, ExtractionRules.VNEXPRESS));
+    }
+
+    private static void assertParagraph(String html, ArticleBlock block) {
+        assertEquals(ArticleBlock.Type.PARAGRAPH, block.getType());
+        assertEquals(html, block.getText());
+    }
+
+    private List<ArticleBlock> extract(String fixture) throws IOException {
+        InputStream in = getClass().getClassLoader().getResourceAsStream("articles/" + fixture);
+        assertNotNull("Missing fixture " + fixture, in);
+        try (Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+            List<ArticleBlock> blocks = ArticleScraper.extract(reader, URL, ExtractionRules.VNEXPRESS);
+            assertNotNull("No content extracted from " + fixture, blocks);
+            return blocks;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.vnews.Utils;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class HtmlRegionScannerTest {
+
+    private static final HtmlRegionScanner.Region ARTICLE = new HtmlRegionScanner.Region("article", "fck_detail");
+    private static final HtmlRegionScanner.Region DIV = new HtmlRegionScanner.Region("div", "fck_detail");
+    private static final HtmlRegionScanner.Region ANY = new HtmlRegionScanner.Region(null, "content-detail");
+    private static final List<HtmlRegionScanner.Region> REGIONS = Arrays.asList(ARTICLE, DIV, ANY);
+
+    @Test
+    public void stopsAtTheEndOfTheFirstRegion() throws IOException {
+        HtmlRegionScanner.Result result = scan(
+                "<body><article class=\"fck_detail\"><p>A</p></article><div class=\"fck_detail\">x</div></body>");
+
+        assertSame(ARTICLE, result.getRegion());
+        assertEquals("<article class=\"fck_detail\"><p>A</p></article>", result.getHtml());
+    }
+
+    @Test
+    public void keepsNestedTagsOfTheRegion() throws IOException {
+        HtmlRegionScanner.Result result = scan(
+                "<div class='fck_detail'><div><p>A</p></div><p>B</p></div><div>after</div>");
+
+        assertSame(DIV, result.getRegion());
+        assertEquals("<div class='fck_detail'><div><p>A</p></div><p>B</p></div>", result.getHtml());
+    }
+
+    @Test
+    public void laterBetterRegionWins() throws IOException {
+        HtmlRegionScanner.Result result = scan(
+                "<aside class=\"content-detail\"><p>side</p></aside>"
+                        + "<div class=\"fck_detail\"><p>quote</p></div>"
+                        + "<article class=\"fck_detail\"><p>main</p></article>");
+
+        assertSame(ARTICLE, result.getRegion());
+        assertEquals("<article class=\"fck_detail\"><p>main</p></article>", result.getHtml());
+    }
+
+    @Test
+    public void nestedBetterRegionWins() throws IOException {
+        HtmlRegionScanner.Result result = scan(
+                "<div class=\"content-detail\"><p>lead</p><div class=\"fck_detail\"><p>main</p></div></div>");
+
+        assertSame(DIV, result.getRegion());
+        assertEquals("<div class=\"fck_detail\"><p>main</p></div>", result.getHtml());
+    }
+
+    @Test
+    public void lowerRegionIsKeptWhenNoBetterOneFollows() throws IOException {
+        HtmlRegionScanner.Result result = scan(
+                "<section class=\"content-detail\"><p>video</p></section><footer><p>end</p></footer>");
+
+        assertSame(ANY, result.getRegion());
+        assertEquals("<section class=\"content-detail\"><p>video</p></section>", result.getHtml());
+    }
+
+    @Test
+    public void regionInScriptIsIgnored() throws IOException {
+        HtmlRegionScanner.Result result = scan(
+                "<script>var s = '<article class=\"fck_detail\">x</article>';</script>"
+                        + "<div class=\"fck_detail\"><p>real</p></div>");
+
+        assertSame(DIV, result.getRegion());
+        assertEquals("<div class=\"fck_detail\"><p>real</p></div>", result.getHtml());
+    }
+
+    @Test
+    public void wholePageWhenNoRegionMatches() throws IOException {
+        String page = "<html><body><div class=\"other\"><p>A</p></div></body></html>";
+        HtmlRegionScanner.Result result = scan(page);
+
+        assertNull(result.getRegion());
+        assertEquals(page, result.getHtml());
+    }
+
+    private static HtmlRegionScanner.Result scan(String html) throws IOException {
+        return HtmlRegionScanner.scan(new StringReader(html), REGIONS);
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.vnews.Utils;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ImageUrlPolicyTest {
+
+    private static final String CDN = "https://i1-vnexpress.vnecdn.net/2024/01/01/anh.jpg";
+
+    @Test
+    public void asksTheCdnForTheWidthBucket() {
+        assertEquals(CDN + "?w=320&h=0", ImageUrlPolicy.forWidth(CDN, 300));
+        assertEquals(CDN + "?w=160&h=0", ImageUrlPolicy.forWidth(CDN, 1));
+        // Wider than every bucket asks for the largest one
+        assertEquals(CDN + "?w=1200&h=0", ImageUrlPolicy.forWidth(CDN, 2000));
+    }
+
+    @Test
+    public void keepsTheAspectRatioOfCroppedImages() {
+        assertEquals(CDN + "?w=480&h=288&q=100&dpr=1&fit=crop",
+                ImageUrlPolicy.forWidth(CDN + "?w=1020&h=612&q=100&dpr=2&fit=crop", 400));
+    }
+
+    @Test
+    public void neverAsksForMoreThanThePublishersSize() {
+        String url = CDN + "?w=300&h=180";
+        assertEquals(url, ImageUrlPolicy.forWidth(url, 300));
+        assertEquals(url, ImageUrlPolicy.forWidth(url, 1000));
+    }
+
+    @Test
+    public void leavesSignedUrlsAlone() {
+        String url = CDN + "?w=1200&h=0&q=100&dpr=1&fit=crop&s=Yh2m1c9Hn3A0bTqJX6K0nw";
+        assertEquals(url, ImageUrlPolicy.forWidth(url, 320));
+    }
+
+    @Test
+    public void keepsEncodedValuesAndFragment() {
+        assertEquals(CDN + "?w=640&h=0&t=a%20b&flag#top",
+                ImageUrlPolicy.forWidth(CDN + "?t=a%20b&flag#top", 600));
+    }
+
+    @Test
+    public void leavesOtherHostsAlone() {
+        String url = "https://example.com/anh.jpg?w=1200&h=800";
+        assertEquals(url, ImageUrlPolicy.forWidth(url, 320));
+        assertEquals("https://notvnecdn.net/anh.jpg", ImageUrlPolicy.forWidth("https://notvnecdn.net/anh.jpg", 320));
+    }
+
+    @Test
+    public void leavesUnusableInputAlone() {
+        assertNull(ImageUrlPolicy.forWidth(null, 320));
+        assertEquals("", ImageUrlPolicy.forWidth("", 320));
+        assertEquals(CDN, ImageUrlPolicy.forWidth(CDN, 0));
+        assertEquals("not a url", ImageUrlPolicy.forWidth("not a url", 320));
+    }
+}